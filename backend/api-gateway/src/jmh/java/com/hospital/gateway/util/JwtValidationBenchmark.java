@@ -0,0 +1,137 @@
+package com.hospital.gateway.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token work the authentication filter does per request: decide whether the bearer token is
+ * valid and read its subject for {@code X-User-Name}.
+ * <ul>
+ *   <li>{@code baseline}: the previous path, {@code validateToken} (two parses) and then
+ *       {@code getUsernameFromToken} (a third), rebuilding the key and parser every time</li>
+ *   <li>{@code singleParse}: {@link JwtUtil#validateAndGetClaims} with the verified-token cache off</li>
+ *   <li>{@code singleParseCached}: the same with the cache on, so repeat tokens skip verification</li>
+ * </ul>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtValidationBenchmark {
+    
+    private static final String SECRET = "hospital-management-system-secret-key-change-in-production";
+    
+    private String token;
+    private BaselineJwtUtil baseline;
+    private JwtUtil uncached;
+    private JwtUtil cached;
+    
+    @Setup
+    public void setUp() {
+        token = Jwts.builder()
+                .setSubject("admin")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+        baseline = new BaselineJwtUtil(SECRET);
+        uncached = new JwtUtil(SECRET, false, 10_000);
+        cached = new JwtUtil(SECRET, true, 10_000);
+    }
+    
+    @Benchmark
+    public String baseline() {
+        if (!baseline.validateToken(token)) {
+            return null;
+        }
+        return baseline.getUsernameFromToken(token);
+    }
+    
+    @Benchmark
+    public String singleParse() {
+        Claims claims = uncached.validateAndGetClaims(token);
+        return claims != null ? claims.getSubject() : null;
+    }
+    
+    @Benchmark
+    public String singleParseCached() {
+        Claims claims = cached.validateAndGetClaims(token);
+        return claims != null ? claims.getSubject() : null;
+    }
+    
+    /**
+     * The validation methods of {@link JwtUtil} before the single-parse change, minus logging.
+     */
+    static class BaselineJwtUtil {
+        
+        private final String secret;
+        
+        BaselineJwtUtil(String secret) {
+            this.secret = secret;
+        }
+        
+        private SecretKey getSigningKey() {
+            return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        }
+        
+        Claims getAllClaimsFromToken(String token) {
+            try {
+                return Jwts.parserBuilder()
+                        .setSigningKey(getSigningKey())
+                        .build()
+                        .parseClaimsJws(token)
+                        .getBody();
+            } catch (Exception e) {
+                return null;
+            }
+        }
+        
+        String getUsernameFromToken(String token) {
+            Claims claims = getAllClaimsFromToken(token);
+            return claims != null ? claims.getSubject() : null;
+        }
+        
+        boolean isTokenExpired(String token) {
+            Claims claims = getAllClaimsFromToken(token);
+            Date expirationDate = claims != null ? claims.getExpiration() : null;
+            return expirationDate != null && expirationDate.before(new Date());
+        }
+        
+        boolean validateToken(String token) {
+            try {
+                Jwts.parserBuilder()
+                        .setSigningKey(getSigningKey())
+                        .build()
+                        .parseClaimsJws(token);
+                return !isTokenExpired(token);
+            } catch (Exception e) {
+                return false;
+            }
+        }
+    }
+    
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(JwtValidationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
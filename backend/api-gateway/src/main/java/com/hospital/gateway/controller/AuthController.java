@@ -3,6 +3,7 @@ package com.hospital.gateway.controller;
 import com.hospital.gateway.dto.AuthRequest;
 import com.hospital.gateway.dto.AuthResponse;
 import com.hospital.gateway.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.RequiredArgsConstructor;
@@ -102,13 +103,12 @@ public class AuthController {
         }
         
         String token = authHeader.substring(7);
-        boolean isValid = jwtUtil.validateToken(token);
+        Claims claims = jwtUtil.validateAndGetClaims(token);
         
-        if (isValid) {
-            String username = jwtUtil.getUsernameFromToken(token);
+        if (claims != null) {
             return ResponseEntity.ok(Map.of(
                     "valid", true,
-                    "username", username
+                    "username", claims.getSubject()
             ));
         } else {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
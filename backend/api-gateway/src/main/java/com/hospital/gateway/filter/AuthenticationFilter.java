@@ -2,6 +2,7 @@ package com.hospital.gateway.filter;
 
 import com.hospital.gateway.config.PublicEndpointsConfig;
 import com.hospital.gateway.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
@@ -60,13 +61,14 @@ public class AuthenticationFilter extends AbstractGatewayFilterFactory<Authentic
             String token = authHeader.substring(7);
             
             try {
-                if (!jwtUtil.validateToken(token)) {
+                Claims claims = jwtUtil.validateAndGetClaims(token);
+                if (claims == null) {
                     log.warn("Invalid or expired token for: {}", path);
                     return onError(exchange, "Invalid or expired token", HttpStatus.UNAUTHORIZED);
                 }
                 
                 // Extract username and add to request header
-                String username = jwtUtil.getUsernameFromToken(token);
+                String username = claims.getSubject();
                 
                 // Add user information to request headers for downstream services
                 ServerHttpRequest modifiedRequest = exchange.getRequest().mutate()
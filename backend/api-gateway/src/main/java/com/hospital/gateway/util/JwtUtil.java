@@ -1,39 +1,83 @@
 package com.hospital.gateway.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 import java.util.function.Function;
 
+/**
+ * Verifies gateway JWTs with a signing key and parser built once at startup.
+ * <p>
+ * Verified tokens are remembered by SHA-256 digest until their {@code exp}, so repeat requests
+ * with the same token skip the signature check. Invalid tokens are never cached, and tokens
+ * without an expiry are verified every time.
+ */
 @Component
 @Slf4j
 public class JwtUtil {
     
-    @Value("${jwt.secret}")
-    private String secret;
+    private final JwtParser parser;
+    private final Cache<String, Claims> verifiedTokens;
     
-    @Value("${jwt.expiration}")
-    private Long expiration;
+    public JwtUtil(
+            @Value("${jwt.secret}") String secret,
+            @Value("${jwt.verified-cache.enabled:true}") boolean cacheEnabled,
+            @Value("${jwt.verified-cache.maximum-size:10000}") long maximumSize) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .build();
+        this.verifiedTokens = cacheEnabled
+                ? Caffeine.newBuilder()
+                        .maximumSize(maximumSize)
+                        .expireAfter(Expiry.<String, Claims>creating((digest, claims) -> Duration.ofMillis(
+                                Math.max(0, claims.getExpiration().getTime() - System.currentTimeMillis()))))
+                        .build()
+                : null;
+    }
     
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    /**
+     * The token's claims once its signature and expiry check out, or {@code null} when it is
+     * invalid or expired. Parses the token at most once.
+     */
+    public Claims validateAndGetClaims(String token) {
+        String digest = verifiedTokens != null ? digest(token) : null;
+        if (digest != null) {
+            // Expired entries are never returned, even before they are evicted
+            Claims cached = verifiedTokens.getIfPresent(digest);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (Exception e) {
+            log.error("Invalid JWT token: {}", e.getMessage());
+            return null;
+        }
+        if (digest != null && claims.getExpiration() != null) {
+            verifiedTokens.put(digest, claims);
+        }
+        return claims;
     }
     
     public Claims getAllClaimsFromToken(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return parser.parseClaimsJws(token).getBody();
         } catch (Exception e) {
             log.error("Error parsing JWT token: {}", e.getMessage());
             return null;
@@ -63,15 +107,16 @@ public class JwtUtil {
     }
     
     public boolean validateToken(String token) {
+        return validateAndGetClaims(token) != null;
+    }
+    
+    // Keeps bearer tokens themselves out of the cache
+    private static String digest(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            log.error("Invalid JWT token: {}", e.getMessage());
-            return false;
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
 }
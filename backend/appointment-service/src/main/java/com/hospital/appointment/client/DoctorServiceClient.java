@@ -1,35 +1,170 @@
 package com.hospital.appointment.client;
 
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.hospital.appointment.dto.DoctorDto;
+import com.hospital.common.dto.ApiResponse;
+import com.hospital.common.util.ETags;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Component
 @Slf4j
 public class DoctorServiceClient {
     
+    // Keeps the query string well under common URL length limits
+    private static final int BATCH_SIZE = 100;
+    
     private final WebClient webClient;
+    private final AsyncLoadingCache<Long, DoctorDto> cache;
     
-    public DoctorServiceClient(@Qualifier("doctorWebClient") WebClient webClient) {
+    public DoctorServiceClient(
+            @Qualifier("doctorWebClient") WebClient webClient,
+            @Value("${services.doctor.cache.max-size:10000}") long cacheMaxSize,
+            @Value("${services.doctor.cache.ttl:60s}") Duration cacheTtl,
+            @Value("${services.doctor.cache.revalidate-after:30s}") Duration revalidateAfter) {
         this.webClient = webClient;
+        // Concurrent lookups of the same ID share one in-flight request. Entries older than
+        // revalidateAfter are refreshed in the background with a conditional GET
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .refreshAfterWrite(revalidateAfter)
+                .recordStats()
+                .buildAsync(new DoctorLoader());
     }
     
     public DoctorDto getDoctorById(Long doctorId) {
+        return getDoctorByIdAsync(doctorId).block();
+    }
+    
+    public Mono<DoctorDto> getDoctorByIdAsync(Long doctorId) {
+        return Mono.fromFuture(() -> cache.get(doctorId), true)
+                .switchIfEmpty(Mono.error(() ->
+                        new RuntimeException("Doctor with ID " + doctorId + " not found or service unavailable")));
+    }
+    
+    public Map<Long, DoctorDto> getDoctorsByIds(Collection<Long> doctorIds) {
+        try {
+            return cache.getAll(doctorIds).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+    
+    public List<DoctorDto> getDoctorsBySpecialization(String specialization) {
+        log.debug("Fetching doctors with specialization {} from doctor-service", specialization);
+        
+        List<DoctorDto> doctors = webClient.get()
+                .uri("/specialization/{specialization}", specialization)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<ApiResponse<List<DoctorDto>>>() {})
+                .mapNotNull(ApiResponse::getData)
+                .onErrorMap(e -> {
+                    log.error("Error fetching doctors with specialization: {}", specialization, e);
+                    return new RuntimeException("Doctor service unavailable while fetching doctors");
+                })
+                .blockOptional()
+                .orElseGet(List::of);
+        // Later lookups of these doctors by ID can skip the network
+        doctors.forEach(doctor -> cache.put(doctor.getId(), CompletableFuture.completedFuture(doctor)));
+        return doctors;
+    }
+    
+    @PreDestroy
+    public void logCacheStats() {
+        log.info("doctor-service client cache stats: {}", cache.synchronous().stats());
+    }
+    
+    private Mono<DoctorDto> fetchDoctorById(Long doctorId) {
         log.debug("Fetching doctor details from doctor-service for ID: {}", doctorId);
         
-        try {
-            return webClient.get()
-                    .uri("/{id}", doctorId)
-                    .retrieve()
-                    .bodyToMono(ApiResponseWrapper.class)
-                    .map(response -> response.getData())
-                    .block();
-        } catch (Exception e) {
-            log.error("Error fetching doctor details for ID: {}", doctorId, e);
-            throw new RuntimeException("Doctor with ID " + doctorId + " not found or service unavailable");
+        return webClient.get()
+                .uri("/{id}/summary", doctorId)
+                .retrieve()
+                .bodyToMono(ApiResponseWrapper.class)
+                .mapNotNull(ApiResponseWrapper::getData)
+                .onErrorMap(e -> {
+                    log.error("Error fetching doctor details for ID: {}", doctorId, e);
+                    return new RuntimeException("Doctor with ID " + doctorId + " not found or service unavailable");
+                });
+    }
+    
+    // Sends the tag doctor-service derives from the cached version; 304 keeps the cached copy
+    private Mono<DoctorDto> revalidateDoctor(DoctorDto cached) {
+        return webClient.get()
+                .uri("/{id}/summary", cached.getId())
+                .ifNoneMatch(ETags.of(cached.getId(), cached.getUpdatedAt()))
+                .exchangeToMono(response -> {
+                    if (response.statusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                        return Mono.just(cached);
+                    }
+                    if (response.statusCode().is2xxSuccessful()) {
+                        return response.bodyToMono(ApiResponseWrapper.class).mapNotNull(ApiResponseWrapper::getData);
+                    }
+                    return response.createError();
+                });
+    }
+    
+    private Mono<Map<Long, DoctorDto>> fetchDoctorsByIds(Set<? extends Long> doctorIds) {
+        List<Long> ids = new ArrayList<>(doctorIds);
+        log.debug("Fetching {} doctors from doctor-service in batches", ids.size());
+        
+        List<List<Long>> batches = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            batches.add(ids.subList(from, Math.min(from + BATCH_SIZE, ids.size())));
+        }
+        
+        return Flux.fromIterable(batches)
+                .concatMap(batch -> webClient.get()
+                        .uri(uriBuilder -> uriBuilder.path("/summary").queryParam("ids", batch).build())
+                        .retrieve()
+                        .bodyToMono(new ParameterizedTypeReference<ApiResponse<List<DoctorDto>>>() {})
+                        .mapNotNull(ApiResponse::getData)
+                        .flatMapIterable(Function.identity())
+                        .onErrorMap(e -> {
+                            log.error("Error fetching doctor details for IDs: {}", batch, e);
+                            return new RuntimeException("Doctor service unavailable while fetching doctor details");
+                        }))
+                .collect(Collectors.toMap(DoctorDto::getId, Function.identity(), (a, b) -> a));
+    }
+    
+    private class DoctorLoader implements AsyncCacheLoader<Long, DoctorDto> {
+        
+        @Override
+        public CompletableFuture<DoctorDto> asyncLoad(Long key, Executor executor) {
+            return fetchDoctorById(key).toFuture();
+        }
+        
+        @Override
+        public CompletableFuture<Map<Long, DoctorDto>> asyncLoadAll(Set<? extends Long> keys, Executor executor) {
+            return fetchDoctorsByIds(keys).toFuture();
+        }
+        
+        @Override
+        public CompletableFuture<DoctorDto> asyncReload(Long key, DoctorDto oldValue, Executor executor) {
+            return revalidateDoctor(oldValue).toFuture();
         }
     }
     
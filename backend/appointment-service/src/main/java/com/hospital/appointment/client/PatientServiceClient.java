@@ -1,35 +1,151 @@
 package com.hospital.appointment.client;
 
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.hospital.appointment.dto.PatientDto;
+import com.hospital.common.dto.ApiResponse;
+import com.hospital.common.util.ETags;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Component
 @Slf4j
 public class PatientServiceClient {
     
+    // Keeps the query string well under common URL length limits
+    private static final int BATCH_SIZE = 100;
+    
     private final WebClient webClient;
+    private final AsyncLoadingCache<Long, PatientDto> cache;
     
-    public PatientServiceClient(@Qualifier("patientWebClient") WebClient webClient) {
+    public PatientServiceClient(
+            @Qualifier("patientWebClient") WebClient webClient,
+            @Value("${services.patient.cache.max-size:10000}") long cacheMaxSize,
+            @Value("${services.patient.cache.ttl:60s}") Duration cacheTtl,
+            @Value("${services.patient.cache.revalidate-after:30s}") Duration revalidateAfter) {
         this.webClient = webClient;
+        // Concurrent lookups of the same ID share one in-flight request. Entries older than
+        // revalidateAfter are refreshed in the background with a conditional GET
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .refreshAfterWrite(revalidateAfter)
+                .recordStats()
+                .buildAsync(new PatientLoader());
     }
     
     public PatientDto getPatientById(Long patientId) {
+        return getPatientByIdAsync(patientId).block();
+    }
+    
+    public Mono<PatientDto> getPatientByIdAsync(Long patientId) {
+        return Mono.fromFuture(() -> cache.get(patientId), true)
+                .switchIfEmpty(Mono.error(() ->
+                        new RuntimeException("Patient with ID " + patientId + " not found or service unavailable")));
+    }
+    
+    public Map<Long, PatientDto> getPatientsByIds(Collection<Long> patientIds) {
+        try {
+            return cache.getAll(patientIds).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+    
+    @PreDestroy
+    public void logCacheStats() {
+        log.info("patient-service client cache stats: {}", cache.synchronous().stats());
+    }
+    
+    private Mono<PatientDto> fetchPatientById(Long patientId) {
         log.debug("Fetching patient details from patient-service for ID: {}", patientId);
         
-        try {
-            return webClient.get()
-                    .uri("/{id}", patientId)
-                    .retrieve()
-                    .bodyToMono(ApiResponseWrapper.class)
-                    .map(response -> response.getData())
-                    .block();
-        } catch (Exception e) {
-            log.error("Error fetching patient details for ID: {}", patientId, e);
-            throw new RuntimeException("Patient with ID " + patientId + " not found or service unavailable");
+        return webClient.get()
+                .uri("/{id}/summary", patientId)
+                .retrieve()
+                .bodyToMono(ApiResponseWrapper.class)
+                .mapNotNull(ApiResponseWrapper::getData)
+                .onErrorMap(e -> {
+                    log.error("Error fetching patient details for ID: {}", patientId, e);
+                    return new RuntimeException("Patient with ID " + patientId + " not found or service unavailable");
+                });
+    }
+    
+    // Sends the tag patient-service derives from the cached version; 304 keeps the cached copy
+    private Mono<PatientDto> revalidatePatient(PatientDto cached) {
+        return webClient.get()
+                .uri("/{id}/summary", cached.getId())
+                .ifNoneMatch(ETags.of(cached.getId(), cached.getUpdatedAt()))
+                .exchangeToMono(response -> {
+                    if (response.statusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                        return Mono.just(cached);
+                    }
+                    if (response.statusCode().is2xxSuccessful()) {
+                        return response.bodyToMono(ApiResponseWrapper.class).mapNotNull(ApiResponseWrapper::getData);
+                    }
+                    return response.createError();
+                });
+    }
+    
+    private Mono<Map<Long, PatientDto>> fetchPatientsByIds(Set<? extends Long> patientIds) {
+        List<Long> ids = new ArrayList<>(patientIds);
+        log.debug("Fetching {} patients from patient-service in batches", ids.size());
+        
+        List<List<Long>> batches = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            batches.add(ids.subList(from, Math.min(from + BATCH_SIZE, ids.size())));
+        }
+        
+        return Flux.fromIterable(batches)
+                .concatMap(batch -> webClient.get()
+                        .uri(uriBuilder -> uriBuilder.path("/summary").queryParam("ids", batch).build())
+                        .retrieve()
+                        .bodyToMono(new ParameterizedTypeReference<ApiResponse<List<PatientDto>>>() {})
+                        .mapNotNull(ApiResponse::getData)
+                        .flatMapIterable(Function.identity())
+                        .onErrorMap(e -> {
+                            log.error("Error fetching patient details for IDs: {}", batch, e);
+                            return new RuntimeException("Patient service unavailable while fetching patient details");
+                        }))
+                .collect(Collectors.toMap(PatientDto::getId, Function.identity(), (a, b) -> a));
+    }
+    
+    private class PatientLoader implements AsyncCacheLoader<Long, PatientDto> {
+        
+        @Override
+        public CompletableFuture<PatientDto> asyncLoad(Long key, Executor executor) {
+            return fetchPatientById(key).toFuture();
+        }
+        
+        @Override
+        public CompletableFuture<Map<Long, PatientDto>> asyncLoadAll(Set<? extends Long> keys, Executor executor) {
+            return fetchPatientsByIds(keys).toFuture();
+        }
+        
+        @Override
+        public CompletableFuture<PatientDto> asyncReload(Long key, PatientDto oldValue, Executor executor) {
+            return revalidatePatient(oldValue).toFuture();
         }
     }
     
@@ -2,15 +2,26 @@ package com.hospital.appointment.controller;
 
 import com.hospital.appointment.dto.AppointmentRequestDto;
 import com.hospital.appointment.dto.AppointmentResponseDto;
+import com.hospital.appointment.dto.BulkAppointmentRequestDto;
+import com.hospital.appointment.dto.BulkAppointmentResponseDto;
+import com.hospital.appointment.dto.FreeSlotsResponseDto;
 import com.hospital.appointment.model.Appointment;
+import com.hospital.appointment.service.AppointmentExportService;
 import com.hospital.appointment.service.AppointmentService;
+import com.hospital.appointment.service.FreeSlotService;
 import com.hospital.common.dto.ApiResponse;
+import com.hospital.common.dto.CursorPage;
+import com.hospital.common.util.ETags;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -22,53 +33,104 @@ import java.util.Map;
 public class AppointmentController {
     
     private final AppointmentService appointmentService;
+    private final FreeSlotService freeSlotService;
+    private final AppointmentExportService appointmentExportService;
     
     @PostMapping
-    public ResponseEntity<ApiResponse<AppointmentResponseDto>> createAppointment(
+    public Mono<ResponseEntity<ApiResponse<AppointmentResponseDto>>> createAppointment(
             @Valid @RequestBody AppointmentRequestDto requestDto) {
-        AppointmentResponseDto response = appointmentService.createAppointment(requestDto);
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(ApiResponse.success("Appointment created successfully", response));
+        return appointmentService.createAppointment(requestDto)
+                .map(response -> ResponseEntity.status(HttpStatus.CREATED)
+                        .body(ApiResponse.success("Appointment created successfully", response)));
+    }
+    
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponse<BulkAppointmentResponseDto>> createAppointments(
+            @Valid @RequestBody BulkAppointmentRequestDto requestDto) {
+        BulkAppointmentResponseDto response = appointmentService.createAppointments(requestDto);
+        return ResponseEntity.ok(ApiResponse.success(
+                response.getCreated() + " of " + response.getTotal() + " appointments created", response));
     }
     
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<AppointmentResponseDto>> getAppointmentById(@PathVariable Long id) {
         AppointmentResponseDto response = appointmentService.getAppointmentById(id);
+        return okWithETag(response, etagOf(response));
+    }
+    
+    @GetMapping("/page")
+    public ResponseEntity<ApiResponse<CursorPage<AppointmentResponseDto>>> getAppointmentsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "asc") String direction) {
+        CursorPage<AppointmentResponseDto> response = appointmentService.getAppointmentsPage(cursor, limit, direction);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+    
+    @GetMapping("/free-slots")
+    public ResponseEntity<ApiResponse<List<FreeSlotsResponseDto>>> getFreeSlots(
+            @RequestParam(required = false) Long doctorId,
+            @RequestParam(required = false) String specialization,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        List<FreeSlotsResponseDto> response = freeSlotService.findFreeSlots(doctorId, specialization, from, to);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
     
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAppointments(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean enrich) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        AppointmentExportService.Format exportFormat = parseExportFormat(format);
+        MediaType contentType = exportFormat == AppointmentExportService.Format.CSV
+                ? MediaType.parseMediaType("text/csv")
+                : MediaType.APPLICATION_NDJSON;
+        String fileName = "appointments-" + from + "-" + to + "." + exportFormat.name().toLowerCase();
+        
+        StreamingResponseBody body = out -> appointmentExportService.export(from, to, exportFormat, enrich, out);
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+    
     @GetMapping
     public ResponseEntity<ApiResponse<List<AppointmentResponseDto>>> getAllAppointments() {
         List<AppointmentResponseDto> response = appointmentService.getAllAppointments();
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return okWithETag(response, ETags.ofList(response, AppointmentController::etagOf));
     }
     
     @GetMapping("/patient/{patientId}")
     public ResponseEntity<ApiResponse<List<AppointmentResponseDto>>> getAppointmentsByPatient(
             @PathVariable Long patientId) {
         List<AppointmentResponseDto> response = appointmentService.getAppointmentsByPatient(patientId);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return okWithETag(response, ETags.ofList(response, AppointmentController::etagOf));
     }
     
     @GetMapping("/doctor/{doctorId}")
     public ResponseEntity<ApiResponse<List<AppointmentResponseDto>>> getAppointmentsByDoctor(
             @PathVariable Long doctorId) {
         List<AppointmentResponseDto> response = appointmentService.getAppointmentsByDoctor(doctorId);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return okWithETag(response, ETags.ofList(response, AppointmentController::etagOf));
     }
     
     @GetMapping("/date/{date}")
     public ResponseEntity<ApiResponse<List<AppointmentResponseDto>>> getAppointmentsByDate(
             @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
         List<AppointmentResponseDto> response = appointmentService.getAppointmentsByDate(date);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return okWithETag(response, ETags.ofList(response, AppointmentController::etagOf));
     }
     
     @GetMapping("/status/{status}")
     public ResponseEntity<ApiResponse<List<AppointmentResponseDto>>> getAppointmentsByStatus(
             @PathVariable Appointment.AppointmentStatus status) {
         List<AppointmentResponseDto> response = appointmentService.getAppointmentsByStatus(status);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return okWithETag(response, ETags.ofList(response, AppointmentController::etagOf));
     }
     
     @PatchMapping("/{id}/status")
@@ -94,4 +156,22 @@ public class AppointmentController {
         appointmentService.deleteAppointment(id);
         return ResponseEntity.ok(ApiResponse.success("Appointment deleted successfully", null));
     }
+    
+    private AppointmentExportService.Format parseExportFormat(String format) {
+        try {
+            return AppointmentExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported export format: " + format + " (use ndjson or csv)");
+        }
+    }
+    
+    private static String etagOf(AppointmentResponseDto appointment) {
+        return ETags.of(appointment.getId(), appointment.getUpdatedAt(),
+                appointment.getPatientName(), appointment.getDoctorName(), appointment.getDoctorSpecialization());
+    }
+    
+    // Spring answers a matching If-None-Match with 304 and skips writing the body
+    private static <T> ResponseEntity<ApiResponse<T>> okWithETag(T body, String etag) {
+        return ResponseEntity.ok().eTag(etag).body(ApiResponse.success(body));
+    }
 }
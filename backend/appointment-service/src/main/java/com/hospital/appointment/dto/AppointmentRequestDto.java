@@ -2,6 +2,8 @@ package com.hospital.appointment.dto;
 
 import com.hospital.appointment.model.Appointment;
 import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -28,6 +30,10 @@ public class AppointmentRequestDto {
     @NotNull(message = "Appointment time is required")
     private LocalTime appointmentTime;
     
+    @Min(value = 5, message = "Duration must be at least 5 minutes")
+    @Max(value = 480, message = "Duration cannot exceed 480 minutes")
+    private Integer durationMinutes;
+    
     @NotBlank(message = "Reason for appointment is required")
     private String reason;
     
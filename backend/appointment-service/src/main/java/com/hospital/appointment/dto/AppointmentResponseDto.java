@@ -22,6 +22,8 @@ public class AppointmentResponseDto {
     private String doctorSpecialization;
     private LocalDate appointmentDate;
     private LocalTime appointmentTime;
+    private Integer durationMinutes;
+    private LocalTime appointmentEndTime;
     private Appointment.AppointmentStatus status;
     private String reason;
     private String notes;
@@ -38,6 +40,8 @@ public class AppointmentResponseDto {
         this.doctorId = appointment.getDoctorId();
         this.appointmentDate = appointment.getAppointmentDate();
         this.appointmentTime = appointment.getAppointmentTime();
+        this.durationMinutes = appointment.getDurationMinutes();
+        this.appointmentEndTime = appointment.getAppointmentEndTime();
         this.status = appointment.getStatus();
         this.reason = appointment.getReason();
         this.notes = appointment.getNotes();
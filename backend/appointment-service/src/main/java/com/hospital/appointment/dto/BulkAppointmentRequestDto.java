@@ -0,0 +1,20 @@
+package com.hospital.appointment.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAppointmentRequestDto {
+    
+    @NotEmpty(message = "At least one appointment is required")
+    @Size(max = 10000, message = "Cannot book more than 10000 appointments per request")
+    private List<@Valid AppointmentRequestDto> appointments;
+}
@@ -0,0 +1,18 @@
+package com.hospital.appointment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAppointmentResponseDto {
+    
+    private int total;
+    private int created;
+    private int failed;
+    private List<BulkAppointmentResultDto> results;
+}
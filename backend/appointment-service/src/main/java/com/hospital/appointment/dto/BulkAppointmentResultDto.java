@@ -0,0 +1,24 @@
+package com.hospital.appointment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAppointmentResultDto {
+    
+    private int index;
+    private boolean created;
+    private AppointmentResponseDto appointment;
+    private String error;
+    
+    public static BulkAppointmentResultDto created(int index, AppointmentResponseDto appointment) {
+        return new BulkAppointmentResultDto(index, true, appointment, null);
+    }
+    
+    public static BulkAppointmentResultDto failed(int index, String error) {
+        return new BulkAppointmentResultDto(index, false, null, error);
+    }
+}
@@ -4,6 +4,9 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+import java.util.Set;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -13,6 +16,10 @@ public class DoctorDto {
     private String lastName;
     private String specialization;
     private Boolean isAvailable;
+    private Set<String> availableDays;
+    private String startTime;
+    private String endTime;
+    private LocalDateTime updatedAt; // Version for conditional revalidation
     
     public String getFullName() {
         return "Dr. " + firstName + " " + lastName;
@@ -0,0 +1,21 @@
+package com.hospital.appointment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FreeSlotsResponseDto {
+    
+    private Long doctorId;
+    private String doctorName;
+    private String doctorSpecialization;
+    private LocalDate date;
+    private List<LocalTime> freeSlots;
+}
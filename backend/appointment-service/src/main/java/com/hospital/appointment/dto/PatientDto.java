@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -11,8 +13,7 @@ public class PatientDto {
     private Long id;
     private String firstName;
     private String lastName;
-    private String email;
-    private String phone;
+    private LocalDateTime updatedAt; // Version for conditional revalidation
     
     public String getFullName() {
         return firstName + " " + lastName;
@@ -0,0 +1,8 @@
+package com.hospital.appointment.exception;
+
+public class AppointmentConflictException extends RuntimeException {
+    
+    public AppointmentConflictException(String message) {
+        super(message);
+    }
+}
@@ -18,8 +18,13 @@ import java.time.LocalTime;
 @AllArgsConstructor
 public class Appointment {
     
+    public static final int DEFAULT_DURATION_MINUTES = 30;
+    
+    // Pooled sequence so Hibernate can batch inserts; allocationSize must match the
+    // sequence increment set in V4__pooled_appointment_ids.sql
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointments_seq")
+    @SequenceGenerator(name = "appointments_seq", sequenceName = "appointments_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "patient_id", nullable = false)
@@ -34,6 +39,13 @@ public class Appointment {
     @Column(name = "appointment_time", nullable = false)
     private LocalTime appointmentTime;
     
+    @Column(name = "duration_minutes", nullable = false)
+    private Integer durationMinutes = DEFAULT_DURATION_MINUTES;
+    
+    // Stored rather than derived so the overlap query and exclusion constraint can use it
+    @Column(name = "appointment_end_time", nullable = false)
+    private LocalTime appointmentEndTime;
+    
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private AppointmentStatus status = AppointmentStatus.SCHEDULED;
@@ -64,6 +76,21 @@ public class Appointment {
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
     
+    @PrePersist
+    @PreUpdate
+    void computeEndTime() {
+        appointmentEndTime = endTimeOf(appointmentTime, durationMinutes);
+    }
+    
+    /**
+     * End of an appointment starting at {@code start}. One that ends exactly at midnight ends at
+     * {@link LocalTime#MAX}, the last instant of its own day, so its range stays within the day.
+     */
+    public static LocalTime endTimeOf(LocalTime start, int durationMinutes) {
+        LocalTime end = start.plusMinutes(durationMinutes);
+        return end.equals(LocalTime.MIDNIGHT) && durationMinutes > 0 ? LocalTime.MAX : end;
+    }
+    
     public enum AppointmentStatus {
         SCHEDULED,
         CONFIRMED,
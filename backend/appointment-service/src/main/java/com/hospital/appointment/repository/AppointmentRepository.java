@@ -1,19 +1,30 @@
 package com.hospital.appointment.repository;
 
 import com.hospital.appointment.model.Appointment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
     
+    @Query("SELECT a FROM Appointment a WHERE a.id > :afterId ORDER BY a.id ASC")
+    List<Appointment> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT a FROM Appointment a WHERE a.id < :beforeId ORDER BY a.id DESC")
+    List<Appointment> findPageBefore(@Param("beforeId") Long beforeId, Pageable pageable);
+    
     List<Appointment> findByPatientId(Long patientId);
     
     List<Appointment> findByDoctorId(Long doctorId);
@@ -32,12 +43,24 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     @Query("SELECT a FROM Appointment a WHERE " +
            "a.doctorId = :doctorId AND " +
            "a.appointmentDate = :date AND " +
-           "a.appointmentTime = :time AND " +
+           "a.appointmentTime < :endTime AND " +
+           "a.appointmentEndTime > :startTime AND " +
            "a.status NOT IN ('CANCELLED', 'NO_SHOW')")
-    Optional<Appointment> findConflictingAppointment(
+    List<Appointment> findOverlappingAppointments(
             @Param("doctorId") Long doctorId,
             @Param("date") LocalDate date,
-            @Param("time") LocalTime time);
+            @Param("startTime") LocalTime startTime,
+            @Param("endTime") LocalTime endTime);
+    
+    @Query("SELECT a FROM Appointment a WHERE " +
+           "a.doctorId IN :doctorIds AND " +
+           "a.appointmentDate >= :startDate AND " +
+           "a.appointmentDate <= :endDate AND " +
+           "a.status NOT IN ('CANCELLED', 'NO_SHOW')")
+    List<Appointment> findActiveByDoctorIdsAndDateRange(
+            @Param("doctorIds") Collection<Long> doctorIds,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
     
     @Query("SELECT a FROM Appointment a WHERE " +
            "a.appointmentDate >= :startDate AND " +
@@ -46,6 +69,19 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
     
+    // Served through a server-side cursor: the fetch size only takes effect inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM Appointment a WHERE " +
+           "a.appointmentDate >= :startDate AND " +
+           "a.appointmentDate <= :endDate " +
+           "ORDER BY a.appointmentDate, a.appointmentTime, a.id")
+    Stream<Appointment> streamByDateRange(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+    
     @Query("SELECT a FROM Appointment a WHERE " +
            "a.doctorId = :doctorId AND " +
            "a.appointmentDate >= :startDate AND " +
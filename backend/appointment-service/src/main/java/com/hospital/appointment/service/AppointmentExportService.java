@@ -0,0 +1,116 @@
+package com.hospital.appointment.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital.appointment.dto.AppointmentResponseDto;
+import com.hospital.appointment.model.Appointment;
+import com.hospital.appointment.repository.AppointmentRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentExportService {
+    
+    // Rows written between flushes, and the unit of batched name lookups
+    private static final int CHUNK_SIZE = 500;
+    
+    private static final String CSV_HEADER = "id,patientId,patientName,doctorId,doctorName,doctorSpecialization," +
+            "appointmentDate,appointmentTime,durationMinutes,appointmentEndTime,status,reason,notes," +
+            "diagnosis,prescription,createdAt,updatedAt,cancelledAt,completedAt";
+    
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentService appointmentService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+    
+    @Transactional(readOnly = true)
+    public void export(LocalDate startDate, LocalDate endDate, Format format, boolean enrich, OutputStream out) {
+        log.info("Exporting appointments from {} to {} as {}", startDate, endDate, format);
+        
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long exported = 0;
+        try (Stream<Appointment> rows = appointmentRepository.streamByDateRange(startDate, endDate)) {
+            if (format == Format.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+                writer.flush();
+            }
+            
+            Iterator<Appointment> iterator = rows.iterator();
+            List<Appointment> chunk = new ArrayList<>(CHUNK_SIZE);
+            while (iterator.hasNext()) {
+                Appointment appointment = iterator.next();
+                // Rows are only read, so drop them from the persistence context right away
+                entityManager.detach(appointment);
+                chunk.add(appointment);
+                if (chunk.size() == CHUNK_SIZE || !iterator.hasNext()) {
+                    writeChunk(chunk, format, enrich, writer);
+                    exported += chunk.size();
+                    chunk.clear();
+                }
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Appointment export aborted after " + exported + " rows", e);
+        }
+        log.info("Exported {} appointments", exported);
+    }
+    
+    private void writeChunk(List<Appointment> chunk, Format format, boolean enrich, Writer writer)
+            throws IOException {
+        List<AppointmentResponseDto> responses = enrich
+                ? appointmentService.enrichAppointmentResponses(chunk)
+                : chunk.stream().map(AppointmentResponseDto::new).collect(Collectors.toList());
+        
+        for (AppointmentResponseDto response : responses) {
+            if (format == Format.CSV) {
+                writer.write(toCsvLine(response));
+            } else {
+                writer.write(objectMapper.writeValueAsString(response));
+            }
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+    
+    private String toCsvLine(AppointmentResponseDto a) {
+        return Stream.of(a.getId(), a.getPatientId(), a.getPatientName(), a.getDoctorId(), a.getDoctorName(),
+                        a.getDoctorSpecialization(), a.getAppointmentDate(), a.getAppointmentTime(),
+                        a.getDurationMinutes(), a.getAppointmentEndTime(), a.getStatus(), a.getReason(),
+                        a.getNotes(), a.getDiagnosis(), a.getPrescription(), a.getCreatedAt(), a.getUpdatedAt(),
+                        a.getCancelledAt(), a.getCompletedAt())
+                .map(value -> csvField(Objects.toString(value, "")))
+                .collect(Collectors.joining(","));
+    }
+    
+    private String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -3,17 +3,35 @@ package com.hospital.appointment.service;
 import com.hospital.appointment.client.DoctorServiceClient;
 import com.hospital.appointment.client.PatientServiceClient;
 import com.hospital.appointment.dto.*;
+import com.hospital.appointment.exception.AppointmentConflictException;
 import com.hospital.appointment.model.Appointment;
 import com.hospital.appointment.repository.AppointmentRepository;
+import com.hospital.common.dto.CursorPage;
 import com.hospital.common.exception.ResourceNotFoundException;
+import com.hospital.common.util.PageCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,51 +42,76 @@ public class AppointmentService {
     private final AppointmentRepository appointmentRepository;
     private final PatientServiceClient patientServiceClient;
     private final DoctorServiceClient doctorServiceClient;
+    private final DoctorBookingLocks doctorBookingLocks;
+    private final DoctorScheduleIndex doctorScheduleIndex;
+    private final TransactionTemplate transactionTemplate;
     
-    @Transactional
-    public AppointmentResponseDto createAppointment(AppointmentRequestDto requestDto) {
+    public Mono<AppointmentResponseDto> createAppointment(AppointmentRequestDto requestDto) {
         log.info("Creating appointment for patient {} with doctor {}", 
                 requestDto.getPatientId(), requestDto.getDoctorId());
         
-        // Validate patient exists
-        PatientDto patient = patientServiceClient.getPatientById(requestDto.getPatientId());
-        log.debug("Patient validated: {}", patient.getFullName());
+        int durationMinutes = durationOf(requestDto);
+        LocalTime startTime = requestDto.getAppointmentTime();
+        LocalTime endTime = Appointment.endTimeOf(startTime, durationMinutes);
+        if (!endTime.isAfter(startTime)) {
+            throw new IllegalArgumentException("Appointment cannot run past midnight");
+        }
         
-        // Validate doctor exists and is available
-        DoctorDto doctor = doctorServiceClient.getDoctorById(requestDto.getDoctorId());
-        log.debug("Doctor validated: {}", doctor.getFullName());
+        // Patient and doctor validation and the conflict check are independent, so run them together.
+        // The early conflict check reads this instance's in-memory schedule, which can miss changes
+        // made on other instances, so only the database decides whether the slot is taken.
+        Mono<PatientDto> patient = patientServiceClient.getPatientByIdAsync(requestDto.getPatientId());
+        Mono<DoctorDto> doctor = doctorServiceClient.getDoctorByIdAsync(requestDto.getDoctorId());
+        Mono<Boolean> hasConflict = Mono.fromCallable(() -> !doctorScheduleIndex
+                        .getSchedule(requestDto.getDoctorId(), requestDto.getAppointmentDate())
+                        .isFree(DoctorScheduleIndex.startMinute(startTime), DoctorScheduleIndex.endMinute(endTime)))
+                .subscribeOn(Schedulers.boundedElastic());
         
-        if (!doctor.getIsAvailable()) {
-            throw new IllegalArgumentException("Doctor is not available for appointments");
-        }
+        return Mono.zip(patient, doctor, hasConflict)
+                .publishOn(Schedulers.boundedElastic())
+                .map(results -> bookAppointment(
+                        requestDto, durationMinutes, results.getT1(), results.getT2(), results.getT3()));
+    }
+    
+    public BulkAppointmentResponseDto createAppointments(BulkAppointmentRequestDto bulkRequest) {
+        List<AppointmentRequestDto> requests = bulkRequest.getAppointments();
+        log.info("Bulk creating {} appointments", requests.size());
         
-        // Check for conflicting appointments
-        appointmentRepository.findConflictingAppointment(
-                requestDto.getDoctorId(),
-                requestDto.getAppointmentDate(),
-                requestDto.getAppointmentTime()
-        ).ifPresent(a -> {
-            throw new IllegalArgumentException(
-                    "Doctor already has an appointment at " + 
-                    requestDto.getAppointmentTime() + " on " + 
-                    requestDto.getAppointmentDate()
-            );
-        });
+        // Every distinct patient and doctor is validated once, in batched calls
+        Map<Long, PatientDto> patients = patientServiceClient.getPatientsByIds(
+                requests.stream().map(AppointmentRequestDto::getPatientId).collect(Collectors.toSet()));
+        Map<Long, DoctorDto> doctors = doctorServiceClient.getDoctorsByIds(
+                requests.stream().map(AppointmentRequestDto::getDoctorId).collect(Collectors.toSet()));
         
-        Appointment appointment = new Appointment();
-        appointment.setPatientId(requestDto.getPatientId());
-        appointment.setDoctorId(requestDto.getDoctorId());
-        appointment.setAppointmentDate(requestDto.getAppointmentDate());
-        appointment.setAppointmentTime(requestDto.getAppointmentTime());
-        appointment.setReason(requestDto.getReason());
-        appointment.setNotes(requestDto.getNotes());
-        appointment.setStatus(requestDto.getStatus() != null ? 
-                requestDto.getStatus() : Appointment.AppointmentStatus.SCHEDULED);
+        BulkAppointmentResultDto[] results = new BulkAppointmentResultDto[requests.size()];
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String error = validateBulkItem(requests.get(i), patients, doctors);
+            if (error != null) {
+                results[i] = BulkAppointmentResultDto.failed(i, error);
+            } else {
+                candidates.add(i);
+            }
+        }
         
-        Appointment savedAppointment = appointmentRepository.save(appointment);
-        log.info("Appointment created successfully with ID: {}", savedAppointment.getId());
+        Map<Integer, Appointment> booked = new LinkedHashMap<>();
+        if (!candidates.isEmpty()) {
+            Set<Long> doctorIds = candidates.stream()
+                    .map(i -> requests.get(i).getDoctorId())
+                    .collect(Collectors.toSet());
+            booked = doctorBookingLocks.withLocks(doctorIds, () ->
+                    transactionTemplate.execute(status -> bookWithoutConflicts(requests, candidates, results)));
+        }
         
-        return enrichAppointmentResponse(savedAppointment, patient, doctor);
+        booked.forEach((index, appointment) -> {
+            doctorScheduleIndex.record(appointment);
+            results[index] = BulkAppointmentResultDto.created(index, enrichAppointmentResponse(
+                    appointment, patients.get(appointment.getPatientId()), doctors.get(appointment.getDoctorId())));
+        });
+        log.info("Bulk booking created {} of {} appointments", booked.size(), requests.size());
+        
+        return new BulkAppointmentResponseDto(requests.size(), booked.size(),
+                requests.size() - booked.size(), Arrays.asList(results));
     }
     
     @Transactional(readOnly = true)
@@ -83,41 +126,46 @@ public class AppointmentService {
     @Transactional(readOnly = true)
     public List<AppointmentResponseDto> getAllAppointments() {
         log.debug("Fetching all appointments");
-        return appointmentRepository.findAll().stream()
-                .map(this::enrichAppointmentResponse)
-                .collect(Collectors.toList());
+        return enrichAppointmentResponses(appointmentRepository.findAll());
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<AppointmentResponseDto> getAppointmentsPage(String cursor, Integer limit, String direction) {
+        PageCursor pageCursor = PageCursor.resolve(cursor, direction);
+        int pageSize = PageCursor.clampLimit(limit);
+        log.debug("Fetching appointments page after ID {} (size {})", pageCursor.getLastId(), pageSize);
+        
+        // Fetch one extra row to learn whether another page follows
+        Pageable window = PageRequest.of(0, pageSize + 1);
+        List<Appointment> rows = pageCursor.isDescending()
+                ? appointmentRepository.findPageBefore(pageCursor.getLastId(), window)
+                : appointmentRepository.findPageAfter(pageCursor.getLastId(), window);
+        return CursorPage.of(rows, pageSize, Appointment::getId, pageCursor.isDescending())
+                .map(this::enrichAppointmentResponses);
     }
     
     @Transactional(readOnly = true)
     public List<AppointmentResponseDto> getAppointmentsByPatient(Long patientId) {
         log.debug("Fetching appointments for patient: {}", patientId);
-        return appointmentRepository.findByPatientId(patientId).stream()
-                .map(this::enrichAppointmentResponse)
-                .collect(Collectors.toList());
+        return enrichAppointmentResponses(appointmentRepository.findByPatientId(patientId));
     }
     
     @Transactional(readOnly = true)
     public List<AppointmentResponseDto> getAppointmentsByDoctor(Long doctorId) {
         log.debug("Fetching appointments for doctor: {}", doctorId);
-        return appointmentRepository.findByDoctorId(doctorId).stream()
-                .map(this::enrichAppointmentResponse)
-                .collect(Collectors.toList());
+        return enrichAppointmentResponses(appointmentRepository.findByDoctorId(doctorId));
     }
     
     @Transactional(readOnly = true)
     public List<AppointmentResponseDto> getAppointmentsByDate(LocalDate date) {
         log.debug("Fetching appointments for date: {}", date);
-        return appointmentRepository.findByAppointmentDate(date).stream()
-                .map(this::enrichAppointmentResponse)
-                .collect(Collectors.toList());
+        return enrichAppointmentResponses(appointmentRepository.findByAppointmentDate(date));
     }
     
     @Transactional(readOnly = true)
     public List<AppointmentResponseDto> getAppointmentsByStatus(Appointment.AppointmentStatus status) {
         log.debug("Fetching appointments with status: {}", status);
-        return appointmentRepository.findByStatus(status).stream()
-                .map(this::enrichAppointmentResponse)
-                .collect(Collectors.toList());
+        return enrichAppointmentResponses(appointmentRepository.findByStatus(status));
     }
     
     @Transactional
@@ -136,6 +184,7 @@ public class AppointmentService {
         }
         
         Appointment updatedAppointment = appointmentRepository.save(appointment);
+        doctorScheduleIndex.record(updatedAppointment);
         log.info("Appointment status updated successfully");
         
         return enrichAppointmentResponse(updatedAppointment);
@@ -165,6 +214,7 @@ public class AppointmentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Appointment", "id", id));
         
         appointmentRepository.delete(appointment);
+        doctorScheduleIndex.remove(appointment);
         log.info("Appointment deleted successfully");
     }
     
@@ -179,12 +229,181 @@ public class AppointmentService {
         }
     }
     
+    private AppointmentResponseDto bookAppointment(
+            AppointmentRequestDto requestDto, int durationMinutes,
+            PatientDto patient, DoctorDto doctor, boolean hasConflict) {
+        log.debug("Patient validated: {}", patient.getFullName());
+        log.debug("Doctor validated: {}", doctor.getFullName());
+        
+        if (!Boolean.TRUE.equals(doctor.getIsAvailable())) {
+            throw new IllegalArgumentException("Doctor is not available for appointments");
+        }
+        
+        Appointment appointment = newAppointment(requestDto, durationMinutes);
+        
+        // The early check ran without a lock and against a possibly stale schedule; check the
+        // database under the doctor's lock and commit before releasing it. The exclusion
+        // constraint catches races with other instances.
+        Appointment savedAppointment;
+        try {
+            savedAppointment = doctorBookingLocks.withLock(requestDto.getDoctorId(), () ->
+                    transactionTemplate.execute(status -> {
+                        if (!appointmentRepository.findOverlappingAppointments(
+                                requestDto.getDoctorId(),
+                                requestDto.getAppointmentDate(),
+                                requestDto.getAppointmentTime(),
+                                Appointment.endTimeOf(requestDto.getAppointmentTime(), durationMinutes)).isEmpty()) {
+                            throw slotTaken(requestDto, durationMinutes);
+                        }
+                        return appointmentRepository.saveAndFlush(appointment);
+                    }));
+        } catch (DataIntegrityViolationException e) {
+            throw slotTaken(requestDto, durationMinutes);
+        }
+        if (hasConflict) {
+            // The in-memory schedule missed a cancellation or deletion made elsewhere
+            log.debug("Schedule for doctor {} on {} was stale, reloading it",
+                    requestDto.getDoctorId(), requestDto.getAppointmentDate());
+            doctorScheduleIndex.invalidate(requestDto.getDoctorId(), requestDto.getAppointmentDate());
+        }
+        doctorScheduleIndex.record(savedAppointment);
+        log.info("Appointment created successfully with ID: {}", savedAppointment.getId());
+        
+        return enrichAppointmentResponse(savedAppointment, patient, doctor);
+    }
+    
+    private String validateBulkItem(
+            AppointmentRequestDto requestDto, Map<Long, PatientDto> patients, Map<Long, DoctorDto> doctors) {
+        LocalTime startTime = requestDto.getAppointmentTime();
+        if (!Appointment.endTimeOf(startTime, durationOf(requestDto)).isAfter(startTime)) {
+            return "Appointment cannot run past midnight";
+        }
+        if (!patients.containsKey(requestDto.getPatientId())) {
+            return new ResourceNotFoundException("Patient", "id", requestDto.getPatientId()).getMessage();
+        }
+        DoctorDto doctor = doctors.get(requestDto.getDoctorId());
+        if (doctor == null) {
+            return new ResourceNotFoundException("Doctor", "id", requestDto.getDoctorId()).getMessage();
+        }
+        if (!Boolean.TRUE.equals(doctor.getIsAvailable())) {
+            return "Doctor is not available for appointments";
+        }
+        return null;
+    }
+    
+    private Map<Integer, Appointment> bookWithoutConflicts(
+            List<AppointmentRequestDto> requests, List<Integer> candidates, BulkAppointmentResultDto[] results) {
+        Set<Long> doctorIds = new HashSet<>();
+        LocalDate startDate = LocalDate.MAX;
+        LocalDate endDate = LocalDate.MIN;
+        for (int index : candidates) {
+            AppointmentRequestDto requestDto = requests.get(index);
+            doctorIds.add(requestDto.getDoctorId());
+            LocalDate date = requestDto.getAppointmentDate();
+            startDate = date.isBefore(startDate) ? date : startDate;
+            endDate = date.isAfter(endDate) ? date : endDate;
+        }
+        
+        // One range query loads every existing booking the batch could collide with; rows
+        // accepted from the batch are then marked too, so the batch is checked against itself
+        Map<Long, Map<LocalDate, BitSet>> occupancy = new HashMap<>();
+        for (Appointment existing : appointmentRepository.findActiveByDoctorIdsAndDateRange(
+                doctorIds, startDate, endDate)) {
+            occupancy.computeIfAbsent(existing.getDoctorId(), id -> new HashMap<>())
+                    .computeIfAbsent(existing.getAppointmentDate(), date -> new BitSet())
+                    .set(DoctorScheduleIndex.startMinute(existing.getAppointmentTime()),
+                            Math.max(DoctorScheduleIndex.startMinute(existing.getAppointmentTime()),
+                                    DoctorScheduleIndex.endMinute(existing.getAppointmentEndTime())));
+        }
+        
+        Map<Integer, Appointment> booked = new LinkedHashMap<>();
+        for (int index : candidates) {
+            AppointmentRequestDto requestDto = requests.get(index);
+            int durationMinutes = durationOf(requestDto);
+            int start = DoctorScheduleIndex.startMinute(requestDto.getAppointmentTime());
+            int end = DoctorScheduleIndex.endMinute(
+                    Appointment.endTimeOf(requestDto.getAppointmentTime(), durationMinutes));
+            BitSet day = occupancy.computeIfAbsent(requestDto.getDoctorId(), id -> new HashMap<>())
+                    .computeIfAbsent(requestDto.getAppointmentDate(), date -> new BitSet());
+            int next = day.nextSetBit(start);
+            if (next != -1 && next < end) {
+                results[index] = BulkAppointmentResultDto.failed(
+                        index, slotTaken(requestDto, durationMinutes).getMessage());
+                continue;
+            }
+            day.set(start, end);
+            booked.put(index, newAppointment(requestDto, durationMinutes));
+        }
+        
+        appointmentRepository.saveAll(booked.values());
+        appointmentRepository.flush();
+        return booked;
+    }
+    
+    private Appointment newAppointment(AppointmentRequestDto requestDto, int durationMinutes) {
+        Appointment appointment = new Appointment();
+        appointment.setPatientId(requestDto.getPatientId());
+        appointment.setDoctorId(requestDto.getDoctorId());
+        appointment.setAppointmentDate(requestDto.getAppointmentDate());
+        appointment.setAppointmentTime(requestDto.getAppointmentTime());
+        appointment.setDurationMinutes(durationMinutes);
+        appointment.setReason(requestDto.getReason());
+        appointment.setNotes(requestDto.getNotes());
+        appointment.setStatus(requestDto.getStatus() != null ? 
+                requestDto.getStatus() : Appointment.AppointmentStatus.SCHEDULED);
+        return appointment;
+    }
+    
+    private int durationOf(AppointmentRequestDto requestDto) {
+        return requestDto.getDurationMinutes() != null
+                ? requestDto.getDurationMinutes() : Appointment.DEFAULT_DURATION_MINUTES;
+    }
+    
+    private AppointmentConflictException slotTaken(AppointmentRequestDto requestDto, int durationMinutes) {
+        return new AppointmentConflictException(
+                "Doctor already has an appointment overlapping " + 
+                requestDto.getAppointmentTime() + "-" + 
+                Appointment.endTimeOf(requestDto.getAppointmentTime(), durationMinutes) + " on " + 
+                requestDto.getAppointmentDate()
+        );
+    }
+    
+    List<AppointmentResponseDto> enrichAppointmentResponses(List<Appointment> appointments) {
+        if (appointments.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        // Resolve each distinct patient and doctor once instead of once per row
+        Set<Long> patientIds = appointments.stream().map(Appointment::getPatientId).collect(Collectors.toSet());
+        Set<Long> doctorIds = appointments.stream().map(Appointment::getDoctorId).collect(Collectors.toSet());
+        
+        Map<Long, PatientDto> patients;
+        Map<Long, DoctorDto> doctors;
+        try {
+            patients = patientServiceClient.getPatientsByIds(patientIds);
+            doctors = doctorServiceClient.getDoctorsByIds(doctorIds);
+        } catch (Exception e) {
+            log.warn("Could not enrich appointment responses: {}", e.getMessage());
+            return appointments.stream()
+                    .map(AppointmentResponseDto::new)
+                    .collect(Collectors.toList());
+        }
+        
+        return appointments.stream()
+                .map(a -> enrichAppointmentResponse(a, patients.get(a.getPatientId()), doctors.get(a.getDoctorId())))
+                .collect(Collectors.toList());
+    }
+    
     private AppointmentResponseDto enrichAppointmentResponse(
             Appointment appointment, PatientDto patient, DoctorDto doctor) {
         AppointmentResponseDto response = new AppointmentResponseDto(appointment);
-        response.setPatientName(patient.getFullName());
-        response.setDoctorName(doctor.getFullName());
-        response.setDoctorSpecialization(doctor.getSpecialization());
+        if (patient != null) {
+            response.setPatientName(patient.getFullName());
+        }
+        if (doctor != null) {
+            response.setDoctorName(doctor.getFullName());
+            response.setDoctorSpecialization(doctor.getSpecialization());
+        }
         return response;
     }
 }
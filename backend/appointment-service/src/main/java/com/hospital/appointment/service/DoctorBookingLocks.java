@@ -0,0 +1,59 @@
+package com.hospital.appointment.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped per-doctor locks that serialize the check-and-insert of bookings for the same
+ * doctor inside this instance, while bookings for different doctors proceed in parallel.
+ * The exclusion constraint on active appointments remains the guard across instances.
+ */
+@Component
+public class DoctorBookingLocks {
+    
+    private final ReentrantLock[] stripes;
+    
+    public DoctorBookingLocks(@Value("${appointments.booking.lock-stripes:64}") int stripeCount) {
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+    
+    public <T> T withLock(Long doctorId, Supplier<T> action) {
+        ReentrantLock lock = stripes[stripeIndex(doctorId)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public <T> T withLocks(Collection<Long> doctorIds, Supplier<T> action) {
+        // Always take stripes in ascending order so two bulk bookings cannot deadlock
+        List<ReentrantLock> locks = doctorIds.stream()
+                .map(this::stripeIndex)
+                .distinct()
+                .sorted()
+                .map(index -> stripes[index])
+                .toList();
+        locks.forEach(ReentrantLock::lock);
+        try {
+            return action.get();
+        } finally {
+            for (int i = locks.size() - 1; i >= 0; i--) {
+                locks.get(i).unlock();
+            }
+        }
+    }
+    
+    private int stripeIndex(Long doctorId) {
+        return Math.floorMod(doctorId.hashCode(), stripes.length);
+    }
+}
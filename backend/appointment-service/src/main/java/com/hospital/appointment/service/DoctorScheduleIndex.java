@@ -0,0 +1,156 @@
+package com.hospital.appointment.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hospital.appointment.model.Appointment;
+import com.hospital.appointment.repository.AppointmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-memory occupancy of each doctor's day as a minute-of-day bitmap, so free-slot
+ * queries are bit scans instead of repeated appointment queries. Days are loaded from
+ * the database on first use, kept current by local writes and reloaded after
+ * {@code appointments.slots.schedule-refresh} to pick up writes from other instances.
+ */
+@Component
+@Slf4j
+public class DoctorScheduleIndex {
+    
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    
+    private final AppointmentRepository appointmentRepository;
+    private final Cache<ScheduleKey, DaySchedule> schedules;
+    
+    public DoctorScheduleIndex(
+            AppointmentRepository appointmentRepository,
+            @Value("${appointments.slots.schedule-cache-size:50000}") long maxSchedules,
+            @Value("${appointments.slots.schedule-refresh:5m}") Duration refreshInterval) {
+        this.appointmentRepository = appointmentRepository;
+        this.schedules = Caffeine.newBuilder()
+                .maximumSize(maxSchedules)
+                .expireAfterWrite(refreshInterval)
+                .build();
+    }
+    
+    public DaySchedule getSchedule(Long doctorId, LocalDate date) {
+        return schedules.get(new ScheduleKey(doctorId, date), this::load);
+    }
+    
+    /**
+     * Applies an inserted or updated appointment to its day, if that day is loaded.
+     * Inside a transaction the change is applied only once it commits.
+     */
+    public void record(Appointment appointment) {
+        afterCommit(() -> {
+            DaySchedule schedule = schedules.getIfPresent(keyOf(appointment));
+            if (schedule != null) {
+                schedule.apply(appointment);
+            }
+        });
+    }
+    
+    public void remove(Appointment appointment) {
+        afterCommit(() -> {
+            DaySchedule schedule = schedules.getIfPresent(keyOf(appointment));
+            if (schedule != null) {
+                schedule.release(appointment.getId());
+            }
+        });
+    }
+    
+    // Dropped so the next lookup reloads the day from the database
+    public void invalidate(Long doctorId, LocalDate date) {
+        schedules.invalidate(new ScheduleKey(doctorId, date));
+    }
+    
+    private DaySchedule load(ScheduleKey key) {
+        log.debug("Loading schedule for doctor {} on {}", key.doctorId(), key.date());
+        DaySchedule schedule = new DaySchedule();
+        appointmentRepository.findByDoctorIdAndDate(key.doctorId(), key.date())
+                .forEach(schedule::apply);
+        return schedule;
+    }
+    
+    public static int startMinute(LocalTime time) {
+        return time.toSecondOfDay() / 60;
+    }
+    
+    // Rounds up so a booking ending part-way through a minute still blocks it
+    public static int endMinute(LocalTime time) {
+        return (time.toSecondOfDay() + 59) / 60;
+    }
+    
+    private ScheduleKey keyOf(Appointment appointment) {
+        return new ScheduleKey(appointment.getDoctorId(), appointment.getAppointmentDate());
+    }
+    
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+    
+    private record ScheduleKey(Long doctorId, LocalDate date) {
+    }
+    
+    /**
+     * Booked intervals of one doctor on one day. The bitmap marks every occupied minute
+     * and is rebuilt from the intervals whenever they change, so an overlap check is a
+     * single {@link BitSet#nextSetBit} scan over at most 23 words.
+     */
+    public class DaySchedule {
+        
+        private final Map<Long, int[]> bookings = new HashMap<>();
+        private final BitSet occupancy = new BitSet(MINUTES_PER_DAY);
+        
+        public synchronized boolean isFree(int startMinute, int endMinute) {
+            int next = occupancy.nextSetBit(startMinute);
+            return next == -1 || next >= endMinute;
+        }
+        
+        synchronized void apply(Appointment appointment) {
+            if (isActive(appointment)) {
+                int start = startMinute(appointment.getAppointmentTime());
+                int end = Math.max(start, endMinute(appointment.getAppointmentEndTime()));
+                bookings.put(appointment.getId(), new int[]{start, end});
+            } else {
+                bookings.remove(appointment.getId());
+            }
+            rebuild();
+        }
+        
+        synchronized void release(Long appointmentId) {
+            if (bookings.remove(appointmentId) != null) {
+                rebuild();
+            }
+        }
+        
+        private void rebuild() {
+            occupancy.clear();
+            bookings.values().forEach(interval -> occupancy.set(interval[0], interval[1]));
+        }
+        
+        private boolean isActive(Appointment appointment) {
+            return appointment.getStatus() != Appointment.AppointmentStatus.CANCELLED
+                    && appointment.getStatus() != Appointment.AppointmentStatus.NO_SHOW;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.hospital.appointment.service;
+
+import com.hospital.appointment.client.DoctorServiceClient;
+import com.hospital.appointment.dto.DoctorDto;
+import com.hospital.appointment.dto.FreeSlotsResponseDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@Slf4j
+public class FreeSlotService {
+    
+    private static final DateTimeFormatter WORKING_HOURS_FORMAT = DateTimeFormatter.ofPattern("H:mm");
+    
+    private final DoctorServiceClient doctorServiceClient;
+    private final DoctorScheduleIndex doctorScheduleIndex;
+    private final int slotMinutes;
+    private final int maxRangeDays;
+    
+    public FreeSlotService(
+            DoctorServiceClient doctorServiceClient,
+            DoctorScheduleIndex doctorScheduleIndex,
+            @Value("${appointments.slots.slot-minutes:30}") int slotMinutes,
+            @Value("${appointments.slots.max-range-days:31}") int maxRangeDays) {
+        this.doctorServiceClient = doctorServiceClient;
+        this.doctorScheduleIndex = doctorScheduleIndex;
+        this.slotMinutes = slotMinutes;
+        this.maxRangeDays = maxRangeDays;
+    }
+    
+    public List<FreeSlotsResponseDto> findFreeSlots(
+            Long doctorId, String specialization, LocalDate from, LocalDate to) {
+        if ((doctorId == null) == (specialization == null)) {
+            throw new IllegalArgumentException("Specify exactly one of doctorId or specialization");
+        }
+        LocalDate endDate = to != null ? to : from;
+        if (endDate.isBefore(from)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        if (ChronoUnit.DAYS.between(from, endDate) >= maxRangeDays) {
+            throw new IllegalArgumentException("Date range cannot exceed " + maxRangeDays + " days");
+        }
+        
+        List<DoctorDto> doctors = doctorId != null
+                ? List.of(doctorServiceClient.getDoctorById(doctorId))
+                : doctorServiceClient.getDoctorsBySpecialization(specialization);
+        log.debug("Searching free slots for {} doctor(s) between {} and {}", doctors.size(), from, endDate);
+        
+        LocalDateTime now = LocalDateTime.now();
+        List<FreeSlotsResponseDto> result = new ArrayList<>();
+        for (DoctorDto doctor : doctors) {
+            if (!Boolean.TRUE.equals(doctor.getIsAvailable())) {
+                continue;
+            }
+            Set<DayOfWeek> workingDays = parseDays(doctor.getAvailableDays());
+            LocalTime start = parseTime(doctor.getStartTime());
+            LocalTime end = parseTime(doctor.getEndTime());
+            if (workingDays.isEmpty() || start == null || end == null || !start.isBefore(end)) {
+                log.debug("Doctor {} has no usable working hours", doctor.getId());
+                continue;
+            }
+            
+            for (LocalDate date = from; !date.isAfter(endDate); date = date.plusDays(1)) {
+                if (!workingDays.contains(date.getDayOfWeek()) || date.isBefore(now.toLocalDate())) {
+                    continue;
+                }
+                List<LocalTime> freeSlots = freeSlotsOn(doctor.getId(), date, start, end, now);
+                if (!freeSlots.isEmpty()) {
+                    result.add(new FreeSlotsResponseDto(doctor.getId(), doctor.getFullName(),
+                            doctor.getSpecialization(), date, freeSlots));
+                }
+            }
+        }
+        return result;
+    }
+    
+    private List<LocalTime> freeSlotsOn(
+            Long doctorId, LocalDate date, LocalTime start, LocalTime end, LocalDateTime now) {
+        DoctorScheduleIndex.DaySchedule schedule = doctorScheduleIndex.getSchedule(doctorId, date);
+        int startMinute = start.toSecondOfDay() / 60;
+        int endMinute = end.toSecondOfDay() / 60;
+        
+        List<LocalTime> freeSlots = new ArrayList<>();
+        for (int minute = startMinute; minute + slotMinutes <= endMinute; minute += slotMinutes) {
+            LocalTime slot = LocalTime.ofSecondOfDay(minute * 60L);
+            if (date.equals(now.toLocalDate()) && !slot.isAfter(now.toLocalTime())) {
+                continue;
+            }
+            if (schedule.isFree(minute, minute + slotMinutes)) {
+                freeSlots.add(slot);
+            }
+        }
+        return freeSlots;
+    }
+    
+    // doctor-service stores days as free text, so accept "MONDAY", "Monday" and "Mon" alike
+    private Set<DayOfWeek> parseDays(Set<String> days) {
+        Set<DayOfWeek> parsed = EnumSet.noneOf(DayOfWeek.class);
+        if (days == null) {
+            return parsed;
+        }
+        for (String day : days) {
+            String prefix = day == null ? "" : day.trim().toUpperCase();
+            for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+                if (prefix.length() >= 3 && dayOfWeek.name().startsWith(prefix.substring(0, 3))) {
+                    parsed.add(dayOfWeek);
+                }
+            }
+        }
+        return parsed;
+    }
+    
+    private LocalTime parseTime(String time) {
+        if (time == null) {
+            return null;
+        }
+        try {
+            return LocalTime.parse(time.trim(), WORKING_HOURS_FORMAT);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+CREATE TABLE IF NOT EXISTS appointments (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    patient_id       BIGINT       NOT NULL,
+    doctor_id        BIGINT       NOT NULL,
+    appointment_date DATE         NOT NULL,
+    appointment_time TIME(6)      NOT NULL,
+    status           VARCHAR(255) NOT NULL,
+    reason           TEXT,
+    notes            TEXT,
+    diagnosis        TEXT,
+    prescription     TEXT,
+    created_at       TIMESTAMP(6),
+    updated_at       TIMESTAMP(6),
+    cancelled_at     TIMESTAMP(6),
+    completed_at     TIMESTAMP(6)
+);
@@ -0,0 +1,23 @@
+-- Bookings raced before this index existed, so a slot can hold several active rows.
+-- The earliest booking (lowest id) keeps the slot; the others are cancelled with a note
+-- so they can be followed up instead of blocking the migration.
+UPDATE appointments a
+SET status = 'CANCELLED',
+    cancelled_at = COALESCE(a.cancelled_at, CURRENT_TIMESTAMP),
+    updated_at = CURRENT_TIMESTAMP,
+    notes = CONCAT_WS(E'\n', a.notes,
+        'Cancelled by migration V2: double booking of this slot, kept appointment ' || k.kept_id || '.')
+FROM (
+    SELECT id,
+           MIN(id) OVER (PARTITION BY doctor_id, appointment_date, appointment_time) AS kept_id
+    FROM appointments
+    WHERE status NOT IN ('CANCELLED', 'NO_SHOW')
+) k
+WHERE a.id = k.id
+  AND a.id <> k.kept_id;
+
+-- A doctor can hold at most one active appointment per start time. Cancelled and
+-- no-show rows release the slot, so they are excluded from the index.
+CREATE UNIQUE INDEX IF NOT EXISTS ux_appointments_doctor_active_slot
+    ON appointments (doctor_id, appointment_date, appointment_time)
+    WHERE status NOT IN ('CANCELLED', 'NO_SHOW');
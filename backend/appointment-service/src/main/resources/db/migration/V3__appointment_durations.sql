@@ -0,0 +1,67 @@
+-- Appointments now last a number of minutes, and conflicts are overlapping intervals
+-- instead of equal start times. Existing rows get 30 minutes, cut short where that
+-- would run past midnight or into the doctor's next active appointment, so the
+-- exclusion constraint below holds for data booked under the old rules.
+ALTER TABLE appointments ADD COLUMN IF NOT EXISTS duration_minutes INTEGER;
+ALTER TABLE appointments ADD COLUMN IF NOT EXISTS appointment_end_time TIME(6);
+
+UPDATE appointments
+SET appointment_end_time = CASE
+        WHEN appointment_time >= TIME '23:30' THEN TIME '23:59:59.999999'
+        ELSE appointment_time + INTERVAL '30 minutes'
+    END
+WHERE appointment_end_time IS NULL;
+
+UPDATE appointments a
+SET appointment_end_time = n.next_time
+FROM (
+    SELECT id,
+           LEAD(appointment_time) OVER (
+               PARTITION BY doctor_id, appointment_date ORDER BY appointment_time) AS next_time
+    FROM appointments
+    WHERE status NOT IN ('CANCELLED', 'NO_SHOW')
+) n
+WHERE a.id = n.id
+  AND n.next_time < a.appointment_end_time;
+
+UPDATE appointments
+SET duration_minutes = FLOOR(EXTRACT(EPOCH FROM (appointment_end_time - appointment_time)) / 60)
+WHERE duration_minutes IS NULL;
+
+ALTER TABLE appointments
+    ALTER COLUMN duration_minutes SET NOT NULL,
+    ALTER COLUMN appointment_end_time SET NOT NULL;
+
+-- The trimming above leaves no overlaps once V2 has removed equal start times, but
+-- cancel any that remain, keeping the earliest booking (lowest id), rather than fail.
+UPDATE appointments a
+SET status = 'CANCELLED',
+    cancelled_at = COALESCE(a.cancelled_at, CURRENT_TIMESTAMP),
+    updated_at = CURRENT_TIMESTAMP,
+    notes = CONCAT_WS(E'\n', a.notes,
+        'Cancelled by migration V3: overlaps appointment ' || o.kept_id || '.')
+FROM (
+    SELECT later.id, MIN(earlier.id) AS kept_id
+    FROM appointments later
+    JOIN appointments earlier
+      ON earlier.doctor_id = later.doctor_id
+     AND earlier.appointment_date = later.appointment_date
+     AND earlier.id < later.id
+     AND earlier.appointment_time < later.appointment_end_time
+     AND later.appointment_time < earlier.appointment_end_time
+    WHERE later.status NOT IN ('CANCELLED', 'NO_SHOW')
+      AND earlier.status NOT IN ('CANCELLED', 'NO_SHOW')
+    GROUP BY later.id
+) o
+WHERE a.id = o.id;
+
+-- Active appointments of one doctor may not overlap. The V2 unique index stays as
+-- the btree used for per-doctor, per-day lookups.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE appointments
+    ADD CONSTRAINT ex_appointments_doctor_active_overlap
+    EXCLUDE USING gist (
+        doctor_id WITH =,
+        tsrange(appointment_date + appointment_time, appointment_date + appointment_end_time) WITH &&
+    ) WHERE (status NOT IN ('CANCELLED', 'NO_SHOW'));
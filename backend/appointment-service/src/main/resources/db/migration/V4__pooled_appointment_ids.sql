@@ -0,0 +1,8 @@
+-- IDs now come from a pooled sequence so Hibernate can batch inserts. Each nextval
+-- reserves 50 IDs ending at the returned value, so start the sequence 50 past the
+-- current maximum to keep the first block clear of existing rows.
+CREATE SEQUENCE IF NOT EXISTS appointments_seq INCREMENT BY 50;
+
+SELECT setval('appointments_seq', COALESCE((SELECT MAX(id) FROM appointments), 0) + 50, false);
+
+ALTER TABLE appointments ALTER COLUMN id DROP IDENTITY IF EXISTS;
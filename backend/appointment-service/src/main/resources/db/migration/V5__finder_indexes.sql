@@ -0,0 +1,16 @@
+-- findByPatientId and findByPatientIdAndDate
+CREATE INDEX IF NOT EXISTS ix_appointments_patient_date
+    ON appointments (patient_id, appointment_date);
+
+-- findByDoctorId, findByDoctorIdAndDate and findByDoctorIdAndDateRange, which also
+-- return cancelled rows. Active-only lookups use ux_appointments_doctor_active_slot.
+CREATE INDEX IF NOT EXISTS ix_appointments_doctor_date
+    ON appointments (doctor_id, appointment_date, appointment_time);
+
+-- findByAppointmentDate, findByDateRange and the ordered export stream
+CREATE INDEX IF NOT EXISTS ix_appointments_date_time
+    ON appointments (appointment_date, appointment_time, id);
+
+-- findByStatus
+CREATE INDEX IF NOT EXISTS ix_appointments_status
+    ON appointments (status);
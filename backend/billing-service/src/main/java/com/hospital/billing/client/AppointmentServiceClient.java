@@ -1,37 +1,108 @@
 package com.hospital.billing.client;
 
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.hospital.billing.dto.AppointmentDto;
 import com.hospital.common.dto.ApiResponse;
-import lombok.RequiredArgsConstructor;
+import com.hospital.common.util.ETags;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class AppointmentServiceClient {
     
-    @Qualifier("appointmentWebClient")
     private final WebClient appointmentWebClient;
+    private final AsyncLoadingCache<Long, AppointmentDto> cache;
+    
+    public AppointmentServiceClient(
+            @Qualifier("appointmentWebClient") WebClient appointmentWebClient,
+            @Value("${services.appointment.cache.max-size:10000}") long cacheMaxSize,
+            @Value("${services.appointment.cache.ttl:30s}") Duration cacheTtl,
+            @Value("${services.appointment.cache.revalidate-after:15s}") Duration revalidateAfter) {
+        this.appointmentWebClient = appointmentWebClient;
+        // Concurrent lookups of the same ID share one in-flight request. Entries older than
+        // revalidateAfter are refreshed in the background with a conditional GET
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .refreshAfterWrite(revalidateAfter)
+                .recordStats()
+                .buildAsync(new AppointmentLoader());
+    }
     
     public AppointmentDto getAppointmentById(Long appointmentId) {
+        try {
+            return cache.get(appointmentId).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+    
+    @PreDestroy
+    public void logCacheStats() {
+        log.info("appointment-service client cache stats: {}", cache.synchronous().stats());
+    }
+    
+    private CompletableFuture<AppointmentDto> fetchAppointmentById(Long appointmentId) {
         log.debug("Fetching appointment with ID: {}", appointmentId);
         
-        try {
-            ApiResponse<AppointmentDto> response = appointmentWebClient
-                    .get()
-                    .uri("/{id}", appointmentId)
-                    .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<ApiResponse<AppointmentDto>>() {})
-                    .block();
-            
-            return response != null ? response.getData() : null;
-        } catch (Exception e) {
-            log.error("Error fetching appointment with ID {}: {}", appointmentId, e.getMessage());
-            throw new RuntimeException("Failed to fetch appointment details: " + e.getMessage());
+        return appointmentWebClient
+                .get()
+                .uri("/{id}", appointmentId)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<ApiResponse<AppointmentDto>>() {})
+                .mapNotNull(ApiResponse::getData)
+                .onErrorMap(e -> {
+                    log.error("Error fetching appointment with ID {}: {}", appointmentId, e.getMessage());
+                    return new RuntimeException("Failed to fetch appointment details: " + e.getMessage());
+                })
+                .toFuture();
+    }
+    
+    // Sends the tag appointment-service derives from the cached version; 304 keeps the cached copy
+    private CompletableFuture<AppointmentDto> revalidateAppointment(AppointmentDto cached) {
+        return appointmentWebClient
+                .get()
+                .uri("/{id}", cached.getId())
+                .ifNoneMatch(ETags.of(cached.getId(), cached.getUpdatedAt(),
+                        cached.getPatientName(), cached.getDoctorName(), cached.getDoctorSpecialization()))
+                .exchangeToMono(response -> {
+                    if (response.statusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                        return Mono.just(cached);
+                    }
+                    if (response.statusCode().is2xxSuccessful()) {
+                        return response.bodyToMono(new ParameterizedTypeReference<ApiResponse<AppointmentDto>>() {})
+                                .mapNotNull(ApiResponse::getData);
+                    }
+                    return response.createError();
+                })
+                .toFuture();
+    }
+    
+    private class AppointmentLoader implements AsyncCacheLoader<Long, AppointmentDto> {
+        
+        @Override
+        public CompletableFuture<AppointmentDto> asyncLoad(Long key, Executor executor) {
+            return fetchAppointmentById(key);
+        }
+        
+        @Override
+        public CompletableFuture<AppointmentDto> asyncReload(Long key, AppointmentDto oldValue, Executor executor) {
+            return revalidateAppointment(oldValue);
         }
     }
 }
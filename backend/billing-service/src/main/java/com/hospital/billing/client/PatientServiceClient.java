@@ -1,37 +1,107 @@
 package com.hospital.billing.client;
 
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.hospital.billing.dto.PatientDto;
 import com.hospital.common.dto.ApiResponse;
-import lombok.RequiredArgsConstructor;
+import com.hospital.common.util.ETags;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class PatientServiceClient {
     
-    @Qualifier("patientWebClient")
     private final WebClient patientWebClient;
+    private final AsyncLoadingCache<Long, PatientDto> cache;
+    
+    public PatientServiceClient(
+            @Qualifier("patientWebClient") WebClient patientWebClient,
+            @Value("${services.patient.cache.max-size:10000}") long cacheMaxSize,
+            @Value("${services.patient.cache.ttl:60s}") Duration cacheTtl,
+            @Value("${services.patient.cache.revalidate-after:30s}") Duration revalidateAfter) {
+        this.patientWebClient = patientWebClient;
+        // Concurrent lookups of the same ID share one in-flight request. Entries older than
+        // revalidateAfter are refreshed in the background with a conditional GET
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .refreshAfterWrite(revalidateAfter)
+                .recordStats()
+                .buildAsync(new PatientLoader());
+    }
     
     public PatientDto getPatientById(Long patientId) {
+        try {
+            return cache.get(patientId).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+    
+    @PreDestroy
+    public void logCacheStats() {
+        log.info("patient-service client cache stats: {}", cache.synchronous().stats());
+    }
+    
+    private CompletableFuture<PatientDto> fetchPatientById(Long patientId) {
         log.debug("Fetching patient with ID: {}", patientId);
         
-        try {
-            ApiResponse<PatientDto> response = patientWebClient
-                    .get()
-                    .uri("/{id}", patientId)
-                    .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<ApiResponse<PatientDto>>() {})
-                    .block();
-            
-            return response != null ? response.getData() : null;
-        } catch (Exception e) {
-            log.error("Error fetching patient with ID {}: {}", patientId, e.getMessage());
-            throw new RuntimeException("Failed to fetch patient details: " + e.getMessage());
+        return patientWebClient
+                .get()
+                .uri("/{id}/summary", patientId)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<ApiResponse<PatientDto>>() {})
+                .mapNotNull(ApiResponse::getData)
+                .onErrorMap(e -> {
+                    log.error("Error fetching patient with ID {}: {}", patientId, e.getMessage());
+                    return new RuntimeException("Failed to fetch patient details: " + e.getMessage());
+                })
+                .toFuture();
+    }
+    
+    // Sends the tag patient-service derives from the cached version; 304 keeps the cached copy
+    private CompletableFuture<PatientDto> revalidatePatient(PatientDto cached) {
+        return patientWebClient
+                .get()
+                .uri("/{id}/summary", cached.getId())
+                .ifNoneMatch(ETags.of(cached.getId(), cached.getUpdatedAt()))
+                .exchangeToMono(response -> {
+                    if (response.statusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                        return Mono.just(cached);
+                    }
+                    if (response.statusCode().is2xxSuccessful()) {
+                        return response.bodyToMono(new ParameterizedTypeReference<ApiResponse<PatientDto>>() {})
+                                .mapNotNull(ApiResponse::getData);
+                    }
+                    return response.createError();
+                })
+                .toFuture();
+    }
+    
+    private class PatientLoader implements AsyncCacheLoader<Long, PatientDto> {
+        
+        @Override
+        public CompletableFuture<PatientDto> asyncLoad(Long key, Executor executor) {
+            return fetchPatientById(key);
+        }
+        
+        @Override
+        public CompletableFuture<PatientDto> asyncReload(Long key, PatientDto oldValue, Executor executor) {
+            return revalidatePatient(oldValue);
         }
     }
 }
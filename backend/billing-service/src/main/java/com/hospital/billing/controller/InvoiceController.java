@@ -6,6 +6,8 @@ import com.hospital.billing.dto.PaymentRequestDto;
 import com.hospital.billing.model.Invoice.InvoiceStatus;
 import com.hospital.billing.service.InvoiceService;
 import com.hospital.common.dto.ApiResponse;
+import com.hospital.common.dto.CursorPage;
+import com.hospital.common.util.ETags;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -36,34 +38,43 @@ public class InvoiceController {
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<InvoiceResponseDto>> getInvoiceById(@PathVariable Long id) {
         InvoiceResponseDto response = invoiceService.getInvoiceById(id);
+        return okWithETag(response, etagOf(response));
+    }
+    
+    @GetMapping("/page")
+    public ResponseEntity<ApiResponse<CursorPage<InvoiceResponseDto>>> getInvoicesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "asc") String direction) {
+        CursorPage<InvoiceResponseDto> response = invoiceService.getInvoicesPage(cursor, limit, direction);
         return ResponseEntity.ok(ApiResponse.success("Operation successful", response));
     }
     
     @GetMapping
     public ResponseEntity<ApiResponse<List<InvoiceResponseDto>>> getAllInvoices() {
         List<InvoiceResponseDto> invoices = invoiceService.getAllInvoices();
-        return ResponseEntity.ok(ApiResponse.success("Operation successful", invoices));
+        return okWithETag(invoices, ETags.ofList(invoices, InvoiceController::etagOf));
     }
     
     @GetMapping("/patient/{patientId}")
     public ResponseEntity<ApiResponse<List<InvoiceResponseDto>>> getInvoicesByPatientId(
             @PathVariable Long patientId) {
         List<InvoiceResponseDto> invoices = invoiceService.getInvoicesByPatientId(patientId);
-        return ResponseEntity.ok(ApiResponse.success("Operation successful", invoices));
+        return okWithETag(invoices, ETags.ofList(invoices, InvoiceController::etagOf));
     }
     
     @GetMapping("/appointment/{appointmentId}")
     public ResponseEntity<ApiResponse<InvoiceResponseDto>> getInvoiceByAppointmentId(
             @PathVariable Long appointmentId) {
         InvoiceResponseDto response = invoiceService.getInvoiceByAppointmentId(appointmentId);
-        return ResponseEntity.ok(ApiResponse.success("Operation successful", response));
+        return okWithETag(response, etagOf(response));
     }
     
     @GetMapping("/status/{status}")
     public ResponseEntity<ApiResponse<List<InvoiceResponseDto>>> getInvoicesByStatus(
             @PathVariable InvoiceStatus status) {
         List<InvoiceResponseDto> invoices = invoiceService.getInvoicesByStatus(status);
-        return ResponseEntity.ok(ApiResponse.success("Operation successful", invoices));
+        return okWithETag(invoices, ETags.ofList(invoices, InvoiceController::etagOf));
     }
     
     @PostMapping("/{id}/payment")
@@ -88,4 +99,13 @@ public class InvoiceController {
         InvoiceResponseDto response = invoiceService.refundInvoice(id);
         return ResponseEntity.ok(ApiResponse.success("Invoice refunded successfully", response));
     }
+    
+    private static String etagOf(InvoiceResponseDto invoice) {
+        return ETags.of(invoice.getId(), invoice.getUpdatedAt(), invoice.getPatientName(), invoice.getAppointmentDate());
+    }
+    
+    // Spring answers a matching If-None-Match with 304 and skips writing the body
+    private static <T> ResponseEntity<ApiResponse<T>> okWithETag(T body, String etag) {
+        return ResponseEntity.ok().eTag(etag).body(ApiResponse.success("Operation successful", body));
+    }
 }
@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
@@ -20,4 +21,5 @@ public class AppointmentDto {
     private String appointmentTime;
     private String status;
     private BigDecimal consultationFee;
+    private LocalDateTime updatedAt; // Version for conditional revalidation
 }
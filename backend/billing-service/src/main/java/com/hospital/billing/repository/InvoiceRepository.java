@@ -2,7 +2,10 @@ package com.hospital.billing.repository;
 
 import com.hospital.billing.model.Invoice;
 import com.hospital.billing.model.Invoice.InvoiceStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,6 +14,12 @@ import java.util.Optional;
 @Repository
 public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
     
+    @Query("SELECT i FROM Invoice i WHERE i.id > :afterId ORDER BY i.id ASC")
+    List<Invoice> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT i FROM Invoice i WHERE i.id < :beforeId ORDER BY i.id DESC")
+    List<Invoice> findPageBefore(@Param("beforeId") Long beforeId, Pageable pageable);
+    
     Optional<Invoice> findByInvoiceNumber(String invoiceNumber);
     
     List<Invoice> findByPatientId(Long patientId);
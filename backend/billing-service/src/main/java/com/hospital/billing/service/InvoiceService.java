@@ -6,9 +6,13 @@ import com.hospital.billing.dto.*;
 import com.hospital.billing.model.Invoice;
 import com.hospital.billing.model.Invoice.InvoiceStatus;
 import com.hospital.billing.repository.InvoiceRepository;
+import com.hospital.common.dto.CursorPage;
 import com.hospital.common.exception.ResourceNotFoundException;
+import com.hospital.common.util.PageCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -87,6 +91,23 @@ public class InvoiceService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
+    public CursorPage<InvoiceResponseDto> getInvoicesPage(String cursor, Integer limit, String direction) {
+        PageCursor pageCursor = PageCursor.resolve(cursor, direction);
+        int pageSize = PageCursor.clampLimit(limit);
+        log.debug("Fetching invoices page after ID {} (size {})", pageCursor.getLastId(), pageSize);
+        
+        // Fetch one extra row to learn whether another page follows
+        Pageable window = PageRequest.of(0, pageSize + 1);
+        List<Invoice> rows = pageCursor.isDescending()
+                ? invoiceRepository.findPageBefore(pageCursor.getLastId(), window)
+                : invoiceRepository.findPageAfter(pageCursor.getLastId(), window);
+        return CursorPage.of(rows, pageSize, Invoice::getId, pageCursor.isDescending())
+                .map(invoices -> invoices.stream()
+                        .map(this::enrichInvoiceResponse)
+                        .collect(Collectors.toList()));
+    }
+    
     @Transactional(readOnly = true)
     public List<InvoiceResponseDto> getInvoicesByPatientId(Long patientId) {
         log.debug("Fetching invoices for patient ID: {}", patientId);
@@ -0,0 +1,23 @@
+-- Baseline matching the schema Hibernate used to generate. IF NOT EXISTS keeps it a
+-- no-op on databases created before migrations were introduced.
+CREATE TABLE IF NOT EXISTS invoices (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    patient_id         BIGINT         NOT NULL,
+    appointment_id     BIGINT         NOT NULL,
+    invoice_number     VARCHAR(255)   NOT NULL UNIQUE,
+    consultation_fee   NUMERIC(10, 2) NOT NULL,
+    medication_charges NUMERIC(10, 2),
+    test_charges       NUMERIC(10, 2),
+    other_charges      NUMERIC(10, 2),
+    discount           NUMERIC(10, 2),
+    tax                NUMERIC(10, 2),
+    total_amount       NUMERIC(10, 2) NOT NULL,
+    paid_amount        NUMERIC(10, 2) NOT NULL,
+    balance_amount     NUMERIC(10, 2) NOT NULL,
+    status             VARCHAR(255)   NOT NULL,
+    payment_method     VARCHAR(255),
+    notes              TEXT,
+    paid_at            TIMESTAMP(6),
+    created_at         TIMESTAMP(6),
+    updated_at         TIMESTAMP(6)
+);
@@ -0,0 +1,11 @@
+-- findByPatientId and findByPatientIdAndStatus
+CREATE INDEX IF NOT EXISTS ix_invoices_patient_status
+    ON invoices (patient_id, status);
+
+-- findByAppointmentId and existsByAppointmentId
+CREATE INDEX IF NOT EXISTS ix_invoices_appointment_id
+    ON invoices (appointment_id);
+
+-- findByStatus (findByInvoiceNumber is served by the unique constraint)
+CREATE INDEX IF NOT EXISTS ix_invoices_status
+    ON invoices (status);
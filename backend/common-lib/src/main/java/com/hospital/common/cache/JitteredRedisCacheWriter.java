@@ -0,0 +1,72 @@
+package com.hospital.common.cache;
+
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * {@link RedisCacheWriter} that stretches every entry TTL by a random amount up to
+ * {@code maxJitter}, so entries written together do not all expire together.
+ */
+public class JitteredRedisCacheWriter implements RedisCacheWriter {
+
+    private final RedisCacheWriter delegate;
+    private final long maxJitterMillis;
+
+    public JitteredRedisCacheWriter(RedisCacheWriter delegate, Duration maxJitter) {
+        this.delegate = delegate;
+        this.maxJitterMillis = maxJitter.toMillis();
+    }
+
+    @Override
+    public void put(String name, byte[] key, byte[] value, Duration ttl) {
+        delegate.put(name, key, value, jitter(ttl));
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key) {
+        return delegate.get(name, key);
+    }
+
+    @Override
+    public byte[] putIfAbsent(String name, byte[] key, byte[] value, Duration ttl) {
+        return delegate.putIfAbsent(name, key, value, jitter(ttl));
+    }
+
+    @Override
+    public void remove(String name, byte[] key) {
+        delegate.remove(name, key);
+    }
+
+    @Override
+    public void clean(String name, byte[] pattern) {
+        delegate.clean(name, pattern);
+    }
+
+    @Override
+    public void clearStatistics(String name) {
+        delegate.clearStatistics(name);
+    }
+
+    @Override
+    public RedisCacheWriter withStatisticsCollector(CacheStatisticsCollector cacheStatisticsCollector) {
+        return new JitteredRedisCacheWriter(delegate.withStatisticsCollector(cacheStatisticsCollector),
+                Duration.ofMillis(maxJitterMillis));
+    }
+
+    @Override
+    public CacheStatistics getCacheStatistics(String cacheName) {
+        return delegate.getCacheStatistics(cacheName);
+    }
+
+    private Duration jitter(Duration ttl) {
+        // Null or non-positive TTL means "never expire"; leave it alone
+        if (ttl == null || ttl.isZero() || ttl.isNegative() || maxJitterMillis <= 0) {
+            return ttl;
+        }
+        return ttl.plusMillis(ThreadLocalRandom.current().nextLong(maxJitterMillis + 1));
+    }
+}
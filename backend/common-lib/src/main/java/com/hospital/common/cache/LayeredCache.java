@@ -0,0 +1,217 @@
+package com.hospital.common.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Spring {@link Cache} that answers reads from a bounded in-process Caffeine cache (L1)
+ * and falls back to Redis (L2). Writes go to Redis first, then L1, and are broadcast so
+ * other instances drop their L1 copy.
+ * <p>
+ * L1 hands out the same instance on every hit, so cached values must be treated as read-only.
+ * <p>
+ * {@code @Cacheable(sync = true)} lookups run at most one loader per key at a time; concurrent
+ * callers for the same key wait for its result. Once the Redis entry is inside the early-refresh
+ * window, each lookup that reaches Redis reloads it with a probability that grows as the
+ * entry nears expiry, so popular keys are usually refreshed before they expire.
+ */
+@Slf4j
+public class LayeredCache implements Cache {
+
+    private final String name;
+    private final Cache remote;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final BiConsumer<String, String> invalidationPublisher;
+    private final ToLongFunction<Object> remainingTtlMillis;
+    private final long refreshWindowMillis;
+    private final ConcurrentMap<String, CompletableFuture<Object>> loads = new ConcurrentHashMap<>();
+
+    // Bumped on every invalidation so a Redis read that raced with one is not promoted to L1
+    private final AtomicLong generation = new AtomicLong();
+
+    public LayeredCache(String name,
+                        Cache remote,
+                        com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+                        BiConsumer<String, String> invalidationPublisher,
+                        ToLongFunction<Object> remainingTtlMillis,
+                        Duration refreshWindow) {
+        this.name = name;
+        this.remote = remote;
+        this.local = local;
+        this.invalidationPublisher = invalidationPublisher;
+        this.remainingTtlMillis = remainingTtlMillis;
+        this.refreshWindowMillis = refreshWindow.toMillis();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            return new SimpleValueWrapper(value);
+        }
+
+        long seen = generation.get();
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper != null) {
+            promote(localKey, wrapper.get(), seen);
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            return (T) value;
+        }
+
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = loads.putIfAbsent(localKey, load);
+        if (inFlight != null) {
+            return (T) await(inFlight);
+        }
+        try {
+            Object loaded = readThrough(key, localKey, valueLoader);
+            load.complete(loaded);
+            return (T) loaded;
+        } catch (Throwable e) {
+            // Waiters see the same failure instead of blocking forever
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(localKey, load);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String localKey = localKey(key);
+        remote.put(key, value);
+        invalidateLocal(localKey);
+        if (value != null) {
+            local.put(localKey, value);
+        }
+        invalidationPublisher.accept(name, localKey);
+    }
+
+    @Override
+    public void evict(Object key) {
+        String localKey = localKey(key);
+        remote.evict(key);
+        invalidateLocal(localKey);
+        invalidationPublisher.accept(name, localKey);
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        clearLocal();
+        invalidationPublisher.accept(name, null);
+    }
+
+    void invalidateLocal(String localKey) {
+        generation.incrementAndGet();
+        local.invalidate(localKey);
+    }
+
+    void clearLocal() {
+        generation.incrementAndGet();
+        local.invalidateAll();
+    }
+
+    private Object readThrough(Object key, String localKey, Callable<?> valueLoader) {
+        long seen = generation.get();
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            if (!shouldRefreshEarly(key)) {
+                promote(localKey, wrapper.get(), seen);
+                return wrapper.get();
+            }
+            log.debug("Refreshing '{}' key '{}' ahead of expiry", name, localKey);
+        }
+
+        Object loaded;
+        try {
+            loaded = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        if (loaded != null) {
+            put(key, loaded);
+        }
+        return loaded;
+    }
+
+    private boolean shouldRefreshEarly(Object key) {
+        if (refreshWindowMillis <= 0) {
+            return false;
+        }
+        long remaining = remainingTtlMillis.applyAsLong(key);
+        // Negative means the key has no expiry or is already gone
+        if (remaining < 0 || remaining >= refreshWindowMillis) {
+            return false;
+        }
+        double probability = 1.0 - (double) remaining / refreshWindowMillis;
+        return ThreadLocalRandom.current().nextDouble() < probability;
+    }
+
+    private static Object await(CompletableFuture<Object> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    private void promote(String localKey, Object value, long seen) {
+        if (value == null) {
+            return;
+        }
+        local.put(localKey, value);
+        // An invalidation slipped in between the Redis read and the put; drop what we just stored
+        if (generation.get() != seen) {
+            local.invalidate(localKey);
+        }
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,203 @@
+package com.hospital.common.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.data.redis.util.ByteUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CacheManager} that puts a Caffeine L1 in front of every cache of the wrapped
+ * {@link RedisCacheManager}. Local invalidations are published on a Redis channel; this
+ * manager also listens on that channel and drops the matching L1 entries written elsewhere.
+ * <p>
+ * L1 size and TTL come from {@code cache.local.max-size} / {@code cache.local.ttl} and can be
+ * overridden per cache with {@code cache.local.<cache-name>.max-size} / {@code .ttl}. Redis entries
+ * are refreshed early within {@code cache.redis.early-refresh-window} of their expiry.
+ */
+@Slf4j
+public class LayeredCacheManager implements CacheManager, MessageListener {
+
+    private static final String SEPARATOR = "|";
+
+    private final RedisCacheManager remote;
+    private final StringRedisTemplate redisTemplate;
+    private final Environment environment;
+    private final String channel;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, LayeredCache> caches = new ConcurrentHashMap<>();
+
+    public LayeredCacheManager(RedisCacheManager remote,
+                               StringRedisTemplate redisTemplate,
+                               Environment environment,
+                               String channel) {
+        this.remote = remote;
+        this.redisTemplate = redisTemplate;
+        this.environment = environment;
+        this.channel = channel;
+    }
+
+    /**
+     * Builds the Redis tier with the settings every service shares (10 minute TTL stretched by
+     * up to {@code ttlJitter}, string keys, no null values) and puts an L1 in front of it. Only
+     * the value serializer differs between services.
+     */
+    public static LayeredCacheManager create(RedisConnectionFactory connectionFactory,
+                                             StringRedisTemplate redisTemplate,
+                                             Environment environment,
+                                             String channel,
+                                             RedisSerializer<Object> valueSerializer,
+                                             Duration ttlJitter) {
+        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(Duration.ofMinutes(10)) // Default TTL: 10 minutes
+                .disableCachingNullValues()
+                .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(valueSerializer));
+
+        // Spread expiries of entries written together so they are not all reloaded at once
+        RedisCacheWriter cacheWriter = new JitteredRedisCacheWriter(
+                RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory), ttlJitter);
+
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(cacheWriter)
+                .cacheDefaults(config)
+                .build();
+        redisCacheManager.afterPropertiesSet();
+
+        return new LayeredCacheManager(redisCacheManager, redisTemplate, environment, channel);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        LayeredCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache redisCache = remote.getCache(name);
+        if (redisCache == null) {
+            return null;
+        }
+        String keyPrefix = ((RedisCache) redisCache).getCacheConfiguration().getKeyPrefixFor(name);
+        return caches.computeIfAbsent(name, n -> new LayeredCache(n, redisCache, buildLocal(n), this::publish,
+                key -> remainingTtlMillis(keyPrefix + key), refreshWindow()));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remote.getCacheNames();
+    }
+
+    /**
+     * Writes entries straight to Redis in one pipeline, using the cache's key prefix, value
+     * serializer and jittered TTL. Existing keys are kept, so a warm-up never overwrites a value
+     * written by a concurrent update. L1 is not touched.
+     */
+    public void preload(String cacheName, Map<?, ?> entries) {
+        Cache redisCache = remote.getCache(cacheName);
+        if (redisCache == null || entries.isEmpty()) {
+            return;
+        }
+        RedisCacheConfiguration config = ((RedisCache) redisCache).getCacheConfiguration();
+        String keyPrefix = config.getKeyPrefixFor(cacheName);
+        Duration ttl = config.getTtl();
+        long jitterMillis = environment.getProperty("cache.redis.ttl-jitter", Duration.class, Duration.ofSeconds(60)).toMillis();
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            entries.forEach((key, value) -> {
+                byte[] rawKey = ByteUtils.getBytes(config.getKeySerializationPair().write(keyPrefix + key));
+                byte[] rawValue = ByteUtils.getBytes(config.getValueSerializationPair().write(value));
+                Expiration expiration = ttl.isZero() || ttl.isNegative()
+                        ? Expiration.persistent()
+                        : Expiration.from(ttl.plusMillis(ThreadLocalRandom.current().nextLong(jitterMillis + 1)));
+                connection.stringCommands().set(rawKey, rawValue, expiration, RedisStringCommands.SetOption.ifAbsent());
+            });
+            return null;
+        });
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    /**
+     * Message format: {@code <instanceId>|<cacheName>[|<key>]}; no key means the whole cache was cleared.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 3);
+        if (parts.length < 2 || instanceId.equals(parts[0])) {
+            return;
+        }
+        LayeredCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+        if (parts.length == 2) {
+            log.debug("Clearing local cache '{}' on remote invalidation", parts[1]);
+            cache.clearLocal();
+        } else {
+            log.debug("Evicting key '{}' from local cache '{}' on remote invalidation", parts[2], parts[1]);
+            cache.invalidateLocal(parts[2]);
+        }
+    }
+
+    private void publish(String cacheName, String key) {
+        String payload = instanceId + SEPARATOR + cacheName + (key != null ? SEPARATOR + key : "");
+        try {
+            redisTemplate.convertAndSend(channel, payload);
+        } catch (RuntimeException e) {
+            // Redis already holds the new state; other instances converge once their L1 entry expires
+            log.warn("Failed to publish cache invalidation for '{}' key '{}'", cacheName, key, e);
+        }
+    }
+
+    private long remainingTtlMillis(String redisKey) {
+        try {
+            Long ttl = redisTemplate.getExpire(redisKey, TimeUnit.MILLISECONDS);
+            return ttl != null ? ttl : -1;
+        } catch (RuntimeException e) {
+            log.warn("Failed to read TTL of '{}', skipping early refresh", redisKey, e);
+            return -1;
+        }
+    }
+
+    private Duration refreshWindow() {
+        return environment.getProperty("cache.redis.early-refresh-window", Duration.class, Duration.ofSeconds(60));
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<String, Object> buildLocal(String name) {
+        long maxSize = environment.getProperty("cache.local." + name + ".max-size", Long.class,
+                environment.getProperty("cache.local.max-size", Long.class, 10_000L));
+        Duration ttl = environment.getProperty("cache.local." + name + ".ttl", Duration.class,
+                environment.getProperty("cache.local.ttl", Duration.class, Duration.ofSeconds(30)));
+        log.info("Local cache '{}' enabled: max-size={}, ttl={}", name, maxSize, ttl);
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.hospital.common.dto;
+
+import com.hospital.common.util.PageCursor;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+
+    /**
+     * Builds a page from rows fetched with a window of {@code limit + 1}; the extra row
+     * only signals that another page exists and is not returned.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, Long> idOf, boolean descending) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null, false);
+        }
+        List<T> items = new ArrayList<>(rows.subList(0, limit));
+        long lastId = idOf.apply(items.get(items.size() - 1));
+        return new CursorPage<>(items, PageCursor.after(lastId, descending).encode(), true);
+    }
+
+    public <R> CursorPage<R> map(Function<List<T>, List<R>> converter) {
+        return new CursorPage<>(converter.apply(items), nextCursor, hasMore);
+    }
+}
@@ -0,0 +1,77 @@
+package com.hospital.common.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.function.Function;
+
+/**
+ * Strong entity tags computed from resource versions instead of response bytes, so a
+ * matching {@code If-None-Match} can be answered without building or serializing the body.
+ * Clients holding a DTO can recompute the same tag to revalidate it.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Tag for one resource: its ID and {@code updatedAt} (to the microsecond, the precision the
+     * databases store), plus a SHA-256 digest of any fields the response copies from other
+     * services, since those can change without touching {@code updatedAt}.
+     */
+    public static String of(Long id, LocalDateTime updatedAt, Object... derived) {
+        StringBuilder tag = new StringBuilder().append('"').append(id).append('-');
+        if (updatedAt != null) {
+            long micros = updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + updatedAt.getNano() / 1_000;
+            tag.append(Long.toString(micros, 36));
+        }
+        if (derived.length > 0) {
+            tag.append('-').append(digestOf(derived));
+        }
+        return tag.append('"').toString();
+    }
+
+    /**
+     * Tag for a list: a digest of its items' tags in order, so any added, removed, reordered
+     * or changed item yields a new tag.
+     */
+    public static <T> String ofList(Collection<T> items, Function<T, String> tagOf) {
+        MessageDigest digest = sha256();
+        for (T item : items) {
+            digest.update(tagOf.apply(item).getBytes(StandardCharsets.UTF_8));
+        }
+        String hash = HexFormat.of().formatHex(digest.digest(), 0, 8);
+        return "\"l" + items.size() + "-" + hash + "\"";
+    }
+
+    // Each value is length-prefixed and null is marked apart from "null", so no two
+    // different value lists feed the digest the same bytes
+    private static String digestOf(Object[] values) {
+        MessageDigest digest = sha256();
+        for (Object value : values) {
+            if (value == null) {
+                digest.update((byte) 0);
+                continue;
+            }
+            byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+            digest.update((byte) 1);
+            digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+            digest.update(bytes);
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, 8);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.hospital.common.util;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for paginated list endpoints. A cursor records the ID of the
+ * last row returned and the sort direction, so the next page is a single
+ * {@code WHERE id > ?} (or {@code < ?}) range scan no matter how deep the client pages.
+ */
+@Getter
+public final class PageCursor {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    private static final String VERSION = "v1";
+
+    private final long lastId;
+    private final boolean descending;
+
+    private PageCursor(long lastId, boolean descending) {
+        this.lastId = lastId;
+        this.descending = descending;
+    }
+
+    public static PageCursor after(long lastId, boolean descending) {
+        return new PageCursor(lastId, descending);
+    }
+
+    /**
+     * Resolves the cursor for a page request. Without a token this is the first page in
+     * the requested direction; with one, the direction stored in the token wins.
+     */
+    public static PageCursor resolve(String token, String direction) {
+        if (token == null || token.isBlank()) {
+            boolean descending = parseDirection(direction);
+            return new PageCursor(descending ? Long.MAX_VALUE : 0L, descending);
+        }
+        return decode(token);
+    }
+
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid page cursor");
+            }
+            return new PageCursor(Long.parseLong(parts[2]), "d".equals(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+    }
+
+    public static int clampLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    public String encode() {
+        String raw = VERSION + ":" + (descending ? "d" : "a") + ":" + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static boolean parseDirection(String direction) {
+        if (direction == null || direction.isBlank() || "asc".equalsIgnoreCase(direction)) {
+            return false;
+        }
+        if ("desc".equalsIgnoreCase(direction)) {
+            return true;
+        }
+        throw new IllegalArgumentException("Sort direction must be 'asc' or 'desc'");
+    }
+}
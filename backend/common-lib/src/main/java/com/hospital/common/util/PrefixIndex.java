@@ -0,0 +1,146 @@
+package com.hospital.common.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory prefix index from normalized names to values, for typeahead lookups.
+ * <p>
+ * Every name of a value becomes one key {@code "<normalized name>\0<id>"} in a sorted
+ * concurrent map, so a lookup seeks to the prefix and walks forward: O(log n) plus the
+ * results. Shorter names sort before longer ones that extend them, so exact matches come
+ * first. Values can be added, replaced and removed while lookups run.
+ * <p>
+ * Memory use is estimated per key and capped: once the budget would be exceeded, further
+ * values are not indexed and {@link #isComplete()} turns false, so callers can fall back to
+ * another search.
+ */
+public final class PrefixIndex<T> {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // Rough per-object costs on a 64-bit JVM with compressed pointers
+    private static final long KEY_OVERHEAD_BYTES = 120;   // String, byte[] header, skip-list node and index
+    private static final long ENTRY_OVERHEAD_BYTES = 160; // map node, Entry, key list, value object
+
+    private final ConcurrentSkipListMap<String, Long> keys = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Long, Entry<T>> entries = new ConcurrentHashMap<>();
+    private final long memoryBudgetBytes;
+    private final AtomicLong estimatedBytes = new AtomicLong();
+    private volatile boolean complete = true;
+
+    public PrefixIndex(long memoryBudgetBytes) {
+        this.memoryBudgetBytes = memoryBudgetBytes;
+    }
+
+    /**
+     * Lower-case, accents stripped, runs of whitespace collapsed to one space.
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String stripped = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACE.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Indexes {@code value} under each of {@code names}, replacing whatever was indexed for
+     * {@code id} before.
+     */
+    public void put(long id, T value, Collection<String> names) {
+        entries.compute(id, (key, previous) -> {
+            if (previous != null) {
+                unlink(id, previous);
+            }
+            List<String> indexedKeys = new ArrayList<>(names.size());
+            long bytes = ENTRY_OVERHEAD_BYTES;
+            for (String name : names) {
+                String normalized = normalize(name);
+                if (!normalized.isEmpty()) {
+                    String indexedKey = normalized + '\0' + id;
+                    if (!indexedKeys.contains(indexedKey)) {
+                        indexedKeys.add(indexedKey);
+                        bytes += KEY_OVERHEAD_BYTES + indexedKey.length();
+                    }
+                }
+            }
+            if (estimatedBytes.get() + bytes > memoryBudgetBytes) {
+                complete = false;
+                return null;
+            }
+            estimatedBytes.addAndGet(bytes);
+            indexedKeys.forEach(indexedKey -> keys.put(indexedKey, id));
+            return new Entry<>(value, indexedKeys, bytes);
+        });
+    }
+
+    public void remove(long id) {
+        entries.computeIfPresent(id, (key, previous) -> {
+            unlink(id, previous);
+            return null;
+        });
+    }
+
+    /**
+     * Up to {@code limit} distinct values with a name starting with {@code prefix}, after
+     * normalization, ordered by the matching name.
+     */
+    public List<T> search(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Set<Long> ids = new LinkedHashSet<>();
+        ConcurrentNavigableMap<String, Long> candidates = keys.tailMap(normalized);
+        for (Map.Entry<String, Long> candidate : candidates.entrySet()) {
+            if (!candidate.getKey().startsWith(normalized) || ids.size() == limit) {
+                break;
+            }
+            ids.add(candidate.getValue());
+        }
+        List<T> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Entry<T> entry = entries.get(id);
+            if (entry != null) {
+                results.add(entry.value());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * {@code false} once a value was left out to stay within the memory budget.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long estimatedBytes() {
+        return estimatedBytes.get();
+    }
+
+    private void unlink(long id, Entry<T> entry) {
+        entry.keys().forEach(indexedKey -> keys.remove(indexedKey, id));
+        estimatedBytes.addAndGet(-entry.bytes());
+    }
+
+    private record Entry<T>(T value, List<String> keys, long bytes) {
+    }
+}
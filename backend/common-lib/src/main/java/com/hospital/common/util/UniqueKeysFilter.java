@@ -0,0 +1,78 @@
+package com.hospital.common.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+/**
+ * Bloom filter of the two unique keys (an email and one other value) of every live row this
+ * instance has seen, so registrations with clearly new values can skip the uniqueness query.
+ * <p>
+ * Subclasses load the existing rows at startup through {@link #loadAll()}. A negative answer is
+ * only trusted once that load has finished. Values written by other instances after that are
+ * missing here; for those the unique indexes reject the insert instead.
+ */
+@Slf4j
+public abstract class UniqueKeysFilter implements ApplicationRunner {
+
+    // What a row is, for the startup log line, e.g. "patient"
+    private final String description;
+    private final boolean enabled;
+    private final BloomFilter filter;
+    private volatile boolean loaded;
+
+    protected UniqueKeysFilter(String description, boolean enabled, long expectedInsertions, double falsePositiveRate) {
+        this.description = description;
+        this.enabled = enabled;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    /**
+     * Passes the keys of every live row to {@link #add} and returns the number of rows read.
+     */
+    protected abstract long loadAll();
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        long count = loadAll();
+        loaded = true;
+        log.info("Loaded the keys of {} {} rows into the uniqueness filter in {} ms",
+                count, description, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    /**
+     * {@code false} means no live row known to this instance uses either value.
+     */
+    public boolean mightBeTaken(String email, String otherKey) {
+        if (!enabled || !loaded) {
+            return true;
+        }
+        return (email != null && filter.mightContain(emailKey(email)))
+                || (otherKey != null && filter.mightContain(otherKey(otherKey)));
+    }
+
+    // Also called while the startup load runs, so nothing created meanwhile is missed
+    public void add(String email, String otherKey) {
+        if (!enabled) {
+            return;
+        }
+        if (email != null) {
+            filter.put(emailKey(email));
+        }
+        if (otherKey != null) {
+            filter.put(otherKey(otherKey));
+        }
+    }
+
+    private static String emailKey(String email) {
+        return "e:" + email;
+    }
+
+    private static String otherKey(String value) {
+        return "k:" + value;
+    }
+}
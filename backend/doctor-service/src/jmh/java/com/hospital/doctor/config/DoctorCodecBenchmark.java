@@ -0,0 +1,93 @@
+package com.hospital.doctor.config;
+
+import com.hospital.doctor.dto.DoctorResponseDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode time of a cached {@link DoctorResponseDto} with each {@code cache.redis.codec},
+ * using the serializers {@link RedisConfig} builds. {@link #main} prints the bytes per entry first.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DoctorCodecBenchmark {
+    
+    @Param({"json", "binary"})
+    public String codec;
+    
+    private RedisSerializer<Object> serializer;
+    private DoctorResponseDto doctor;
+    private byte[] encoded;
+    
+    @Setup
+    public void setUp() {
+        serializer = new RedisConfig().createCacheValueSerializer(codec);
+        doctor = sampleDoctor();
+        encoded = serializer.serialize(doctor);
+    }
+    
+    @Benchmark
+    public byte[] encode() {
+        return serializer.serialize(doctor);
+    }
+    
+    @Benchmark
+    public Object decode() {
+        return serializer.deserialize(encoded);
+    }
+    
+    static DoctorResponseDto sampleDoctor() {
+        DoctorResponseDto doctor = new DoctorResponseDto();
+        doctor.setId(4321L);
+        doctor.setFirstName("Rajesh");
+        doctor.setLastName("Kumar");
+        doctor.setEmail("rajesh.kumar@hospital.com");
+        doctor.setPhone("9876543210");
+        doctor.setLicenseNumber("MED-2019-004321");
+        doctor.setSpecialization("Cardiology");
+        doctor.setQualification("MBBS, MD (Cardiology)");
+        doctor.setExperienceYears(15);
+        doctor.setConsultationFee(1500.0);
+        doctor.setDepartment("Cardiology");
+        doctor.setRoomNumber("C-204");
+        doctor.setAvailableDays(new LinkedHashSet<>(List.of("MONDAY", "WEDNESDAY", "FRIDAY")));
+        doctor.setStartTime("09:00");
+        doctor.setEndTime("17:00");
+        doctor.setIsAvailable(true);
+        doctor.setCreatedAt(LocalDateTime.of(2024, 1, 15, 9, 30, 12, 345678000));
+        doctor.setUpdatedAt(LocalDateTime.of(2024, 6, 2, 17, 5, 48, 901234000));
+        return doctor;
+    }
+    
+    public static void main(String[] args) throws Exception {
+        DoctorResponseDto doctor = sampleDoctor();
+        for (String codec : new String[] {"json", "binary"}) {
+            int bytes = new RedisConfig().createCacheValueSerializer(codec).serialize(doctor).length;
+            System.out.printf("%-6s %4d bytes per entry%n", codec, bytes);
+        }
+        new Runner(new OptionsBuilder().include(DoctorCodecBenchmark.class.getSimpleName()).build()).run();
+    }
+}
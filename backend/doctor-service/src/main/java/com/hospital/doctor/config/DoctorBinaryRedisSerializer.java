@@ -0,0 +1,211 @@
+package com.hospital.doctor.config;
+
+import com.hospital.doctor.dto.DoctorResponseDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Compact binary Redis value format for {@link DoctorResponseDto}: a magic byte, a format
+ * version and the fields in declaration order, each nullable field behind a presence flag.
+ * No class names or property names are written.
+ * <p>
+ * Binary entries written with another version decode as {@code null}, which the cache treats
+ * as a miss, so the entry is reloaded and overwritten. Any other value or payload (including
+ * JSON written before this format existed) goes through the fallback serializer.
+ */
+@Slf4j
+public class DoctorBinaryRedisSerializer implements RedisSerializer<Object> {
+    
+    // Never a valid first byte of the JSON the fallback writes
+    static final byte MAGIC = (byte) 0xB7;
+    
+    // Bump whenever fields are added, removed or reordered
+    static final byte VERSION = 1;
+    
+    private final RedisSerializer<Object> fallback;
+    
+    public DoctorBinaryRedisSerializer(RedisSerializer<Object> fallback) {
+        this.fallback = fallback;
+    }
+    
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (!(value instanceof DoctorResponseDto doctor)) {
+            return fallback.serialize(value);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(MAGIC);
+            out.writeByte(VERSION);
+            writeLong(out, doctor.getId());
+            writeString(out, doctor.getFirstName());
+            writeString(out, doctor.getLastName());
+            writeString(out, doctor.getEmail());
+            writeString(out, doctor.getPhone());
+            writeString(out, doctor.getLicenseNumber());
+            writeString(out, doctor.getSpecialization());
+            writeString(out, doctor.getQualification());
+            writeLong(out, doctor.getExperienceYears() != null ? doctor.getExperienceYears().longValue() : null);
+            out.writeBoolean(doctor.getConsultationFee() != null);
+            if (doctor.getConsultationFee() != null) {
+                out.writeDouble(doctor.getConsultationFee());
+            }
+            writeString(out, doctor.getDepartment());
+            writeString(out, doctor.getRoomNumber());
+            writeStringSet(out, doctor.getAvailableDays());
+            writeString(out, doctor.getStartTime());
+            writeString(out, doctor.getEndTime());
+            out.writeByte(doctor.getIsAvailable() == null ? 0 : doctor.getIsAvailable() ? 2 : 1);
+            writeDateTime(out, doctor.getCreatedAt());
+            writeDateTime(out, doctor.getUpdatedAt());
+        } catch (IOException e) {
+            throw new SerializationException("Could not write doctor cache entry", e);
+        }
+        return bytes.toByteArray();
+    }
+    
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return fallback.deserialize(bytes);
+        }
+        if (bytes.length < 2 || bytes[1] != VERSION) {
+            log.debug("Ignoring doctor cache entry with unsupported format version");
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 2, bytes.length - 2))) {
+            DoctorResponseDto doctor = new DoctorResponseDto();
+            doctor.setId(readLong(in));
+            doctor.setFirstName(readString(in));
+            doctor.setLastName(readString(in));
+            doctor.setEmail(readString(in));
+            doctor.setPhone(readString(in));
+            doctor.setLicenseNumber(readString(in));
+            doctor.setSpecialization(readString(in));
+            doctor.setQualification(readString(in));
+            Long experienceYears = readLong(in);
+            doctor.setExperienceYears(experienceYears != null ? experienceYears.intValue() : null);
+            doctor.setConsultationFee(in.readBoolean() ? in.readDouble() : null);
+            doctor.setDepartment(readString(in));
+            doctor.setRoomNumber(readString(in));
+            doctor.setAvailableDays(readStringSet(in));
+            doctor.setStartTime(readString(in));
+            doctor.setEndTime(readString(in));
+            byte isAvailable = in.readByte();
+            doctor.setIsAvailable(isAvailable == 0 ? null : isAvailable == 2);
+            doctor.setCreatedAt(readDateTime(in));
+            doctor.setUpdatedAt(readDateTime(in));
+            return doctor;
+        } catch (IOException e) {
+            throw new SerializationException("Could not read doctor cache entry", e);
+        }
+    }
+    
+    private static void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+    
+    // Length prefix is a varint of (length + 1); 0 marks null, so short strings cost one extra byte
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, utf8.length + 1);
+        out.write(utf8);
+    }
+    
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+    
+    // Same varint prefix as strings: 0 marks null, otherwise size + 1
+    private static void writeStringSet(DataOutputStream out, Set<String> values) throws IOException {
+        if (values == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        writeVarInt(out, values.size() + 1);
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+    
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+    
+    private static Long readLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+    
+    private static String readString(DataInputStream in) throws IOException {
+        int length = readVarInt(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+    
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+    
+    private static Set<String> readStringSet(DataInputStream in) throws IOException {
+        int size = readVarInt(in) - 1;
+        if (size < 0) {
+            return null;
+        }
+        Set<String> values = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+    
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        long epochSecond = in.readLong();
+        int nano = in.readInt();
+        return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+}
@@ -1,8 +1,11 @@
 package com.hospital.doctor.controller;
 
 import com.hospital.common.dto.ApiResponse;
+import com.hospital.common.dto.CursorPage;
+import com.hospital.common.util.ETags;
 import com.hospital.doctor.dto.DoctorRequestDto;
 import com.hospital.doctor.dto.DoctorResponseDto;
+import com.hospital.doctor.dto.DoctorSummaryDto;
 import com.hospital.doctor.service.DoctorService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -30,33 +33,63 @@ public class DoctorController {
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<DoctorResponseDto>> getDoctorById(@PathVariable Long id) {
         DoctorResponseDto response = doctorService.getDoctorById(id);
+        return okWithETag(response, etagOf(response));
+    }
+    
+    @GetMapping("/batch")
+    public ResponseEntity<ApiResponse<List<DoctorResponseDto>>> getDoctorsByIds(
+            @RequestParam List<Long> ids) {
+        List<DoctorResponseDto> response = doctorService.getDoctorsByIds(ids);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+    
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<ApiResponse<DoctorSummaryDto>> getDoctorSummary(@PathVariable Long id) {
+        DoctorSummaryDto response = doctorService.getDoctorSummary(id);
+        // Same version as the full resource, so callers can revalidate with what they cached
+        return okWithETag(response, ETags.of(response.getId(), response.getUpdatedAt()));
+    }
+    
+    @GetMapping("/summary")
+    public ResponseEntity<ApiResponse<List<DoctorSummaryDto>>> getDoctorSummaries(
+            @RequestParam List<Long> ids) {
+        List<DoctorSummaryDto> response = doctorService.getDoctorSummaries(ids);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+    
+    @GetMapping("/page")
+    public ResponseEntity<ApiResponse<CursorPage<DoctorResponseDto>>> getDoctorsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "asc") String direction) {
+        CursorPage<DoctorResponseDto> response = doctorService.getDoctorsPage(cursor, limit, direction);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
     
     @GetMapping
     public ResponseEntity<ApiResponse<List<DoctorResponseDto>>> getAllDoctors() {
         List<DoctorResponseDto> response = doctorService.getAllDoctors();
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return okWithETag(response, ETags.ofList(response, DoctorController::etagOf));
     }
     
     @GetMapping("/specialization/{specialization}")
     public ResponseEntity<ApiResponse<List<DoctorResponseDto>>> getDoctorsBySpecialization(
             @PathVariable String specialization) {
         List<DoctorResponseDto> response = doctorService.getDoctorsBySpecialization(specialization);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return okWithETag(response, ETags.ofList(response, DoctorController::etagOf));
     }
     
     @GetMapping("/department/{department}")
     public ResponseEntity<ApiResponse<List<DoctorResponseDto>>> getDoctorsByDepartment(
             @PathVariable String department) {
         List<DoctorResponseDto> response = doctorService.getDoctorsByDepartment(department);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return okWithETag(response, ETags.ofList(response, DoctorController::etagOf));
     }
     
     @GetMapping("/available")
     public ResponseEntity<ApiResponse<List<DoctorResponseDto>>> getAvailableDoctors() {
         List<DoctorResponseDto> response = doctorService.getAvailableDoctors();
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return okWithETag(response, ETags.ofList(response, DoctorController::etagOf));
     }
     
     @PutMapping("/{id}")
@@ -81,10 +114,28 @@ public class DoctorController {
         return ResponseEntity.ok(ApiResponse.success("Doctor deleted successfully", null));
     }
     
+    @GetMapping("/typeahead")
+    public ResponseEntity<ApiResponse<List<DoctorSummaryDto>>> typeahead(
+            @RequestParam String query,
+            @RequestParam(required = false) Integer limit) {
+        List<DoctorSummaryDto> response = doctorService.typeahead(query, limit);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+    
     @GetMapping("/search")
     public ResponseEntity<ApiResponse<List<DoctorResponseDto>>> searchDoctors(
-            @RequestParam String query) {
-        List<DoctorResponseDto> response = doctorService.searchDoctors(query);
+            @RequestParam String query,
+            @RequestParam(required = false) Integer limit) {
+        List<DoctorResponseDto> response = doctorService.searchDoctors(query, limit);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
+    
+    private static String etagOf(DoctorResponseDto doctor) {
+        return ETags.of(doctor.getId(), doctor.getUpdatedAt());
+    }
+    
+    // Spring answers a matching If-None-Match with 304 and skips writing the body
+    private static <T> ResponseEntity<ApiResponse<T>> okWithETag(T body, String etag) {
+        return ResponseEntity.ok().eTag(etag).body(ApiResponse.success(body));
+    }
 }
@@ -1,6 +1,7 @@
 package com.hospital.doctor.dto;
 
 import com.hospital.doctor.model.Doctor;
+import com.hospital.doctor.model.DoctorSchedule;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -45,9 +46,9 @@ public class DoctorResponseDto {
         this.consultationFee = doctor.getConsultationFee();
         this.department = doctor.getDepartment();
         this.roomNumber = doctor.getRoomNumber();
-        this.availableDays = doctor.getAvailableDays();
-        this.startTime = doctor.getStartTime();
-        this.endTime = doctor.getEndTime();
+        this.availableDays = DoctorSchedule.toDayNames(doctor.getAvailableDaysMask());
+        this.startTime = DoctorSchedule.toTimeString(doctor.getStartMinute());
+        this.endTime = DoctorSchedule.toTimeString(doctor.getEndMinute());
         this.isAvailable = doctor.getIsAvailable();
         this.createdAt = doctor.getCreatedAt();
         this.updatedAt = doctor.getUpdatedAt();
@@ -0,0 +1,45 @@
+package com.hospital.doctor.dto;
+
+import com.hospital.doctor.model.DoctorSchedule;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * The fields other services need to book against a doctor: name, specialization and
+ * availability. Built directly by a JPQL constructor expression, so no {@code Doctor}
+ * entity is loaded for it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DoctorSummaryDto {
+    
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String specialization;
+    private Boolean isAvailable;
+    private Set<String> availableDays;
+    private String startTime;
+    private String endTime;
+    private LocalDateTime updatedAt;
+    
+    // Used by DoctorRepository's constructor expressions; takes the raw schedule columns
+    public DoctorSummaryDto(Long id, String firstName, String lastName, String specialization,
+                            Boolean isAvailable, short availableDaysMask, Short startMinute,
+                            Short endMinute, LocalDateTime updatedAt) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.specialization = specialization;
+        this.isAvailable = isAvailable;
+        this.availableDays = DoctorSchedule.toDayNames(availableDaysMask);
+        this.startTime = DoctorSchedule.toTimeString(startMinute);
+        this.endTime = DoctorSchedule.toTimeString(endMinute);
+        this.updatedAt = updatedAt;
+    }
+}
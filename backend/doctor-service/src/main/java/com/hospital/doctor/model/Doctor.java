@@ -8,8 +8,6 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
-import java.util.HashSet;
-import java.util.Set;
 
 @Entity
 @Table(name = "doctors")
@@ -28,13 +26,13 @@ public class Doctor {
     @Column(name = "last_name", nullable = false, length = 50)
     private String lastName;
     
-    @Column(name = "email", unique = true, nullable = false, length = 100)
+    @Column(name = "email", nullable = false, length = 100)
     private String email;
     
     @Column(name = "phone", nullable = false, length = 15)
     private String phone;
     
-    @Column(name = "license_number", unique = true, nullable = false, length = 50)
+    @Column(name = "license_number", nullable = false, length = 50)
     private String licenseNumber;
     
     @Column(name = "specialization", nullable = false, length = 100)
@@ -55,16 +53,15 @@ public class Doctor {
     @Column(name = "room_number", length = 20)
     private String roomNumber;
     
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "doctor_availability", joinColumns = @JoinColumn(name = "doctor_id"))
-    @Column(name = "day_of_week")
-    private Set<String> availableDays = new HashSet<>();
+    // Bit 0 = Monday ... bit 6 = Sunday; see DoctorSchedule
+    @Column(name = "available_days_mask", nullable = false)
+    private short availableDaysMask = DoctorSchedule.NO_DAYS;
     
-    @Column(name = "start_time", length = 10)
-    private String startTime;  // Format: "09:00"
+    @Column(name = "start_minute")
+    private Short startMinute;  // Minute of day, 540 = 09:00
     
-    @Column(name = "end_time", length = 10)
-    private String endTime;    // Format: "17:00"
+    @Column(name = "end_minute")
+    private Short endMinute;    // Minute of day, 1020 = 17:00
     
     @Column(name = "is_available")
     private Boolean isAvailable = true;
@@ -0,0 +1,79 @@
+package com.hospital.doctor.model;
+
+import java.time.DayOfWeek;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Converts between the API's schedule representation (day names, "HH:mm" strings) and the
+ * compact columns on {@link Doctor}: a 7-bit day-of-week mask (bit 0 = Monday) and
+ * minute-of-day integers.
+ */
+public final class DoctorSchedule {
+    
+    public static final short NO_DAYS = 0;
+    
+    private DoctorSchedule() {
+    }
+    
+    /**
+     * Accepts "MONDAY", "Monday" and "Mon" alike, as the free-text days used to be stored.
+     */
+    public static short toDayMask(Set<String> days) {
+        short mask = NO_DAYS;
+        if (days == null) {
+            return mask;
+        }
+        for (String day : days) {
+            mask |= 1 << (parseDay(day).getValue() - 1);
+        }
+        return mask;
+    }
+    
+    // Week order, upper-case full names, e.g. [MONDAY, WEDNESDAY]
+    public static Set<String> toDayNames(short mask) {
+        Set<String> days = new LinkedHashSet<>();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if ((mask & (1 << (day.getValue() - 1))) != 0) {
+                days.add(day.name());
+            }
+        }
+        return days;
+    }
+    
+    public static Short toMinuteOfDay(String time) {
+        if (time == null || time.isBlank()) {
+            return null;
+        }
+        String[] parts = time.trim().split(":");
+        try {
+            int hours = Integer.parseInt(parts[0]);
+            int minutes = parts.length == 2 ? Integer.parseInt(parts[1]) : -1;
+            if (hours < 0 || hours > 23 || minutes < 0 || minutes > 59) {
+                throw new IllegalArgumentException("Invalid time: " + time + ", expected HH:mm");
+            }
+            return (short) (hours * 60 + minutes);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid time: " + time + ", expected HH:mm");
+        }
+    }
+    
+    public static String toTimeString(Short minuteOfDay) {
+        if (minuteOfDay == null) {
+            return null;
+        }
+        return String.format("%02d:%02d", minuteOfDay / 60, minuteOfDay % 60);
+    }
+    
+    private static DayOfWeek parseDay(String day) {
+        String prefix = day == null ? "" : day.trim().toUpperCase();
+        if (prefix.length() >= 3) {
+            for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+                if (dayOfWeek.name().startsWith(prefix.substring(0, 3))) {
+                    return dayOfWeek;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Invalid day of week: " + day);
+    }
+}
@@ -1,13 +1,20 @@
 package com.hospital.doctor.repository;
 
+import com.hospital.doctor.dto.DoctorSummaryDto;
 import com.hospital.doctor.model.Doctor;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface DoctorRepository extends JpaRepository<Doctor, Long> {
@@ -15,14 +22,54 @@ public interface DoctorRepository extends JpaRepository<Doctor, Long> {
     @Query("SELECT d FROM Doctor d WHERE d.deletedAt IS NULL")
     List<Doctor> findAllActive();
     
+    @Query("SELECT d FROM Doctor d WHERE d.deletedAt IS NULL AND d.id > :afterId ORDER BY d.id ASC")
+    List<Doctor> findActivePageAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT d FROM Doctor d WHERE d.deletedAt IS NULL AND d.id < :beforeId ORDER BY d.id DESC")
+    List<Doctor> findActivePageBefore(@Param("beforeId") Long beforeId, Pageable pageable);
+    
     @Query("SELECT d FROM Doctor d WHERE d.id = :id AND d.deletedAt IS NULL")
     Optional<Doctor> findActiveById(Long id);
     
-    @Query("SELECT d FROM Doctor d WHERE d.email = :email AND d.deletedAt IS NULL")
-    Optional<Doctor> findByEmail(String email);
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT new com.hospital.doctor.dto.DoctorSummaryDto(d.id, d.firstName, d.lastName, d.specialization, " +
+           "d.isAvailable, d.availableDaysMask, d.startMinute, d.endMinute, d.updatedAt) " +
+           "FROM Doctor d WHERE d.deletedAt IS NULL")
+    Stream<DoctorSummaryDto> streamAllActiveSummaries();
+    
+    // Typeahead catch-up; served by the indexes from V6
+    @Query("SELECT new com.hospital.doctor.dto.DoctorSummaryDto(d.id, d.firstName, d.lastName, d.specialization, " +
+           "d.isAvailable, d.availableDaysMask, d.startMinute, d.endMinute, d.updatedAt) " +
+           "FROM Doctor d WHERE d.deletedAt IS NULL AND d.updatedAt >= :since")
+    List<DoctorSummaryDto> findActiveSummariesUpdatedSince(@Param("since") LocalDateTime since);
+    
+    @Query("SELECT d.id FROM Doctor d WHERE d.deletedAt >= :since")
+    List<Long> findIdsDeletedSince(@Param("since") LocalDateTime since);
+    
+    @Query("SELECT d FROM Doctor d WHERE d.id IN :ids AND d.deletedAt IS NULL")
+    List<Doctor> findAllActiveByIds(@Param("ids") Collection<Long> ids);
     
-    @Query("SELECT d FROM Doctor d WHERE d.licenseNumber = :licenseNumber AND d.deletedAt IS NULL")
-    Optional<Doctor> findByLicenseNumber(String licenseNumber);
+    @Query("SELECT new com.hospital.doctor.dto.DoctorSummaryDto(d.id, d.firstName, d.lastName, d.specialization, " +
+           "d.isAvailable, d.availableDaysMask, d.startMinute, d.endMinute, d.updatedAt) " +
+           "FROM Doctor d WHERE d.id = :id AND d.deletedAt IS NULL")
+    Optional<DoctorSummaryDto> findActiveSummaryById(@Param("id") Long id);
+    
+    @Query("SELECT new com.hospital.doctor.dto.DoctorSummaryDto(d.id, d.firstName, d.lastName, d.specialization, " +
+           "d.isAvailable, d.availableDaysMask, d.startMinute, d.endMinute, d.updatedAt) " +
+           "FROM Doctor d WHERE d.id IN :ids AND d.deletedAt IS NULL")
+    List<DoctorSummaryDto> findActiveSummariesByIds(@Param("ids") Collection<Long> ids);
+    
+    // One round trip for both uniqueness checks, served by the unique indexes from V5
+    @Query("SELECT d.email AS email, d.licenseNumber AS licenseNumber FROM Doctor d WHERE d.deletedAt IS NULL " +
+           "AND (d.email = :email OR d.licenseNumber = :licenseNumber) " +
+           "AND (:excludeId IS NULL OR d.id <> :excludeId)")
+    List<CredentialKeys> findActiveCredentialConflicts(@Param("email") String email,
+                                                       @Param("licenseNumber") String licenseNumber,
+                                                       @Param("excludeId") Long excludeId);
+    
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT d.email AS email, d.licenseNumber AS licenseNumber FROM Doctor d WHERE d.deletedAt IS NULL")
+    Stream<CredentialKeys> streamAllActiveCredentials();
     
     @Query("SELECT d FROM Doctor d WHERE d.specialization = :specialization AND d.deletedAt IS NULL")
     List<Doctor> findBySpecialization(@Param("specialization") String specialization);
@@ -33,12 +80,28 @@ public interface DoctorRepository extends JpaRepository<Doctor, Long> {
     @Query("SELECT d FROM Doctor d WHERE d.isAvailable = true AND d.deletedAt IS NULL")
     List<Doctor> findAvailableDoctors();
     
-    @Query("SELECT d FROM Doctor d WHERE " +
-           "(LOWER(d.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(d.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(d.email) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(d.specialization) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(d.department) LIKE LOWER(CONCAT('%', :search, '%'))) AND " +
-           "d.deletedAt IS NULL")
-    List<Doctor> searchDoctors(@Param("search") String search);
+    // Same substring matching as before, served by the trigram indexes from V3 and
+    // ranked so the closest matches come first
+    @Query(value = "SELECT * FROM doctors d WHERE " +
+           "(LOWER(d.first_name) LIKE '%' || LOWER(:search) || '%' OR " +
+           "LOWER(d.last_name) LIKE '%' || LOWER(:search) || '%' OR " +
+           "LOWER(d.email) LIKE '%' || LOWER(:search) || '%' OR " +
+           "LOWER(d.specialization) LIKE '%' || LOWER(:search) || '%' OR " +
+           "LOWER(d.department) LIKE '%' || LOWER(:search) || '%') AND " +
+           "d.deleted_at IS NULL " +
+           "ORDER BY GREATEST(" +
+           "similarity(LOWER(d.first_name), LOWER(:search)), " +
+           "similarity(LOWER(d.last_name), LOWER(:search)), " +
+           "similarity(LOWER(d.email), LOWER(:search)), " +
+           "similarity(LOWER(d.specialization), LOWER(:search)), " +
+           "similarity(LOWER(d.department), LOWER(:search))) DESC, d.id " +
+           "LIMIT :limit",
+           nativeQuery = true)
+    List<Doctor> searchDoctors(@Param("search") String search, @Param("limit") int limit);
+    
+    interface CredentialKeys {
+        String getEmail();
+        
+        String getLicenseNumber();
+    }
 }
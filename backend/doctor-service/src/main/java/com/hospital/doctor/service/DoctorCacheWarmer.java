@@ -0,0 +1,123 @@
+package com.hospital.doctor.service;
+
+import com.hospital.common.cache.LayeredCacheManager;
+import com.hospital.doctor.dto.DoctorResponseDto;
+import com.hospital.doctor.repository.DoctorRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Preloads all active doctors (up to {@code cache.warmup.max-entries}) into the 'doctors' Redis cache.
+ * <p>
+ * Runs as an {@link ApplicationRunner}, so startup completes (and the application reports
+ * ready) only after the warm-up or its time budget is spent. A marker key is written when a
+ * warm-up finishes; if it disappears because Redis was flushed, evicted it or restarted
+ * empty, the next periodic check warms the cache again.
+ */
+@Component
+@Slf4j
+public class DoctorCacheWarmer implements ApplicationRunner {
+    
+    private static final String CACHE_NAME = "doctors";
+    
+    private final DoctorRepository doctorRepository;
+    private final LayeredCacheManager cacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int maxEntries;
+    private final int chunkSize;
+    private final Duration timeBudget;
+    private final String markerKey;
+    private final AtomicBoolean running = new AtomicBoolean();
+    
+    public DoctorCacheWarmer(
+            DoctorRepository doctorRepository,
+            LayeredCacheManager cacheManager,
+            StringRedisTemplate redisTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${cache.warmup.enabled:true}") boolean enabled,
+            @Value("${cache.warmup.max-entries:5000}") int maxEntries,
+            @Value("${cache.warmup.chunk-size:500}") int chunkSize,
+            @Value("${cache.warmup.time-budget:20s}") Duration timeBudget,
+            @Value("${cache.warmup.marker-key:doctor-service:cache-warm}") String markerKey) {
+        this.doctorRepository = doctorRepository;
+        this.cacheManager = cacheManager;
+        this.redisTemplate = redisTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.chunkSize = chunkSize;
+        this.timeBudget = timeBudget;
+        this.markerKey = markerKey;
+    }
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            warmUp("startup");
+        }
+    }
+    
+    @Scheduled(initialDelayString = "${cache.warmup.check-interval:30000}",
+               fixedDelayString = "${cache.warmup.check-interval:30000}")
+    public void rewarmIfFlushed() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(markerKey))) {
+                return;
+            }
+        } catch (RuntimeException e) {
+            log.debug("Redis unavailable, skipping cache warm-up check: {}", e.getMessage());
+            return;
+        }
+        warmUp("Redis flush or reconnect");
+    }
+    
+    private void warmUp(String reason) {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + timeBudget.toNanos();
+        int warmed = 0;
+        try {
+            List<DoctorResponseDto> doctors = transactionTemplate.execute(status ->
+                    doctorRepository.findAllActive().stream()
+                            .limit(maxEntries)
+                            .map(DoctorResponseDto::new)
+                            .collect(Collectors.toList()));
+            for (int from = 0; doctors != null && from < doctors.size() && System.nanoTime() < deadline; from += chunkSize) {
+                List<DoctorResponseDto> chunk = doctors.subList(from, Math.min(from + chunkSize, doctors.size()));
+                Map<Long, DoctorResponseDto> entries = chunk.stream()
+                        .collect(Collectors.toMap(DoctorResponseDto::getId, Function.identity()));
+                cacheManager.preload(CACHE_NAME, entries);
+                warmed += chunk.size();
+            }
+            // Written even when the budget ran out, so an unfinished warm-up is not retried in a loop
+            redisTemplate.opsForValue().set(markerKey, Instant.now().toString());
+            log.info("Warmed {} doctors into cache on {} in {} ms", warmed, reason,
+                    Duration.ofNanos(System.nanoTime() - startedAt).toMillis());
+        } catch (RuntimeException e) {
+            log.warn("Doctor cache warm-up on {} stopped after {} entries", reason, warmed, e);
+        } finally {
+            running.set(false);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.hospital.doctor.service;
+
+import com.hospital.common.util.UniqueKeysFilter;
+import com.hospital.doctor.repository.DoctorRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+/**
+ * Uniqueness filter over the emails and license numbers of live doctors. Inserts it misses
+ * are rejected by the unique indexes, and {@link DoctorService} reports the same error the
+ * query would have.
+ */
+@Component
+public class DoctorCredentialFilter extends UniqueKeysFilter {
+    
+    private final DoctorRepository doctorRepository;
+    private final TransactionTemplate transactionTemplate;
+    
+    public DoctorCredentialFilter(
+            DoctorRepository doctorRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${uniqueness.bloom-filter.enabled:true}") boolean enabled,
+            @Value("${uniqueness.bloom-filter.expected-insertions:200000}") long expectedInsertions,
+            @Value("${uniqueness.bloom-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        super("doctor", enabled, expectedInsertions, falsePositiveRate);
+        this.doctorRepository = doctorRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+    
+    @Override
+    protected long loadAll() {
+        return transactionTemplate.execute(status -> {
+            try (Stream<DoctorRepository.CredentialKeys> credentials = doctorRepository.streamAllActiveCredentials()) {
+                return credentials.mapToLong(credential -> {
+                    add(credential.getEmail(), credential.getLicenseNumber());
+                    return 1;
+                }).sum();
+            }
+        });
+    }
+}
@@ -1,19 +1,31 @@
 package com.hospital.doctor.service;
 
+import com.hospital.common.dto.CursorPage;
 import com.hospital.common.exception.ResourceNotFoundException;
+import com.hospital.common.util.PageCursor;
 import com.hospital.doctor.dto.DoctorRequestDto;
 import com.hospital.doctor.dto.DoctorResponseDto;
+import com.hospital.doctor.dto.DoctorSummaryDto;
 import com.hospital.doctor.model.Doctor;
+import com.hospital.doctor.model.DoctorSchedule;
 import com.hospital.doctor.repository.DoctorRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -22,34 +34,39 @@ import java.util.stream.Collectors;
 @Slf4j
 public class DoctorService {
     
+    private static final int MAX_BATCH_SIZE = 500;
+    private static final int DEFAULT_TYPEAHEAD_LIMIT = 10;
+    
+    // List views, keyed by filter value; evicted per key by evictListCaches
+    static final String BY_SPECIALIZATION_CACHE = "doctorsBySpecialization";
+    static final String BY_DEPARTMENT_CACHE = "doctorsByDepartment";
+    static final String AVAILABLE_CACHE = "availableDoctors";
+    private static final String AVAILABLE_KEY = "all";
+    
     private final DoctorRepository doctorRepository;
+    private final CacheManager cacheManager;
+    private final DoctorCredentialFilter credentialFilter;
+    private final DoctorTypeaheadIndex typeaheadIndex;
     
     @Transactional
     @CachePut(value = "doctors", key = "#result.id")
     public DoctorResponseDto createDoctor(DoctorRequestDto requestDto) {
         log.info("Creating new doctor: {} {}", requestDto.getFirstName(), requestDto.getLastName());
         
-        // Check for duplicate email
-        doctorRepository.findByEmail(requestDto.getEmail()).ifPresent(d -> {
-            throw new IllegalArgumentException("Doctor with email " + requestDto.getEmail() + " already exists");
-        });
-        
-        // Check for duplicate license number
-        doctorRepository.findByLicenseNumber(requestDto.getLicenseNumber()).ifPresent(d -> {
-            throw new IllegalArgumentException("Doctor with license number " + requestDto.getLicenseNumber() + " already exists");
-        });
+        checkCredentialsAvailable(requestDto, null);
         
         Doctor doctor = new Doctor();
         mapDtoToEntity(requestDto, doctor);
         
-        Doctor savedDoctor = doctorRepository.save(doctor);
+        Doctor savedDoctor = saveUnique(doctor);
         log.info("Doctor created successfully with ID: {}", savedDoctor.getId());
+        evictListCaches(ListKeys.of(savedDoctor), null);
         
         return new DoctorResponseDto(savedDoctor);
     }
     
     @Transactional(readOnly = true)
-    // Removed @Cacheable to avoid lazy initialization issues with availableDays collection
+    @Cacheable(value = "doctors", key = "#id", sync = true)
     public DoctorResponseDto getDoctorById(Long id) {
         log.debug("Fetching doctor with ID: {}", id);
         Doctor doctor = doctorRepository.findActiveById(id)
@@ -57,6 +74,33 @@ public class DoctorService {
         return new DoctorResponseDto(doctor);
     }
     
+    @Transactional(readOnly = true)
+    public List<DoctorResponseDto> getDoctorsByIds(List<Long> ids) {
+        log.debug("Fetching {} doctors by ID", ids.size());
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " doctors can be fetched in one request");
+        }
+        return doctorRepository.findAllActiveByIds(new HashSet<>(ids)).stream()
+                .map(DoctorResponseDto::new)
+                .collect(Collectors.toList());
+    }
+    
+    @Transactional(readOnly = true)
+    public DoctorSummaryDto getDoctorSummary(Long id) {
+        log.debug("Fetching doctor summary with ID: {}", id);
+        return doctorRepository.findActiveSummaryById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Doctor", "id", id));
+    }
+    
+    @Transactional(readOnly = true)
+    public List<DoctorSummaryDto> getDoctorSummaries(List<Long> ids) {
+        log.debug("Fetching {} doctor summaries by ID", ids.size());
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " doctors can be fetched in one request");
+        }
+        return doctorRepository.findActiveSummariesByIds(new HashSet<>(ids));
+    }
+    
     @Transactional(readOnly = true)
     public List<DoctorResponseDto> getAllDoctors() {
         log.debug("Fetching all active doctors");
@@ -66,6 +110,7 @@ public class DoctorService {
     }
     
     @Transactional(readOnly = true)
+    @Cacheable(value = BY_SPECIALIZATION_CACHE, key = "#specialization", sync = true)
     public List<DoctorResponseDto> getDoctorsBySpecialization(String specialization) {
         log.debug("Fetching doctors with specialization: {}", specialization);
         return doctorRepository.findBySpecialization(specialization).stream()
@@ -74,6 +119,7 @@ public class DoctorService {
     }
     
     @Transactional(readOnly = true)
+    @Cacheable(value = BY_DEPARTMENT_CACHE, key = "#department", sync = true)
     public List<DoctorResponseDto> getDoctorsByDepartment(String department) {
         log.debug("Fetching doctors in department: {}", department);
         return doctorRepository.findByDepartment(department).stream()
@@ -82,6 +128,7 @@ public class DoctorService {
     }
     
     @Transactional(readOnly = true)
+    @Cacheable(value = AVAILABLE_CACHE, key = "'" + AVAILABLE_KEY + "'", sync = true)
     public List<DoctorResponseDto> getAvailableDoctors() {
         log.debug("Fetching available doctors");
         return doctorRepository.findAvailableDoctors().stream()
@@ -89,6 +136,23 @@ public class DoctorService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
+    public CursorPage<DoctorResponseDto> getDoctorsPage(String cursor, Integer limit, String direction) {
+        PageCursor pageCursor = PageCursor.resolve(cursor, direction);
+        int pageSize = PageCursor.clampLimit(limit);
+        log.debug("Fetching active doctors page after ID {} (size {})", pageCursor.getLastId(), pageSize);
+        
+        // Fetch one extra row to learn whether another page follows
+        Pageable window = PageRequest.of(0, pageSize + 1);
+        List<Doctor> rows = pageCursor.isDescending()
+                ? doctorRepository.findActivePageBefore(pageCursor.getLastId(), window)
+                : doctorRepository.findActivePageAfter(pageCursor.getLastId(), window);
+        return CursorPage.of(rows, pageSize, Doctor::getId, pageCursor.isDescending())
+                .map(doctors -> doctors.stream()
+                        .map(DoctorResponseDto::new)
+                        .collect(Collectors.toList()));
+    }
+    
     @Transactional
     @CachePut(value = "doctors", key = "#id")
     public DoctorResponseDto updateDoctor(Long id, DoctorRequestDto requestDto) {
@@ -97,22 +161,12 @@ public class DoctorService {
         Doctor doctor = doctorRepository.findActiveById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Doctor", "id", id));
         
-        // Check for duplicate email (excluding current doctor)
-        doctorRepository.findByEmail(requestDto.getEmail()).ifPresent(d -> {
-            if (!d.getId().equals(id)) {
-                throw new IllegalArgumentException("Doctor with email " + requestDto.getEmail() + " already exists");
-            }
-        });
-        
-        // Check for duplicate license number (excluding current doctor)
-        doctorRepository.findByLicenseNumber(requestDto.getLicenseNumber()).ifPresent(d -> {
-            if (!d.getId().equals(id)) {
-                throw new IllegalArgumentException("Doctor with license number " + requestDto.getLicenseNumber() + " already exists");
-            }
-        });
+        checkCredentialsAvailable(requestDto, id);
         
+        ListKeys before = ListKeys.of(doctor);
         mapDtoToEntity(requestDto, doctor);
-        Doctor updatedDoctor = doctorRepository.save(doctor);
+        Doctor updatedDoctor = saveUnique(doctor);
+        evictListCaches(before, ListKeys.of(updatedDoctor));
         
         log.info("Doctor updated successfully with ID: {}", id);
         return new DoctorResponseDto(updatedDoctor);
@@ -126,9 +180,12 @@ public class DoctorService {
         Doctor doctor = doctorRepository.findActiveById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Doctor", "id", id));
         
+        ListKeys before = ListKeys.of(doctor);
         doctor.setDeletedAt(LocalDateTime.now());
         doctor.setIsAvailable(false);
         doctorRepository.save(doctor);
+        evictListCaches(before, null);
+        typeaheadIndex.removeAfterCommit(id);
         
         log.info("Doctor soft deleted successfully with ID: {}", id);
     }
@@ -141,21 +198,120 @@ public class DoctorService {
         Doctor doctor = doctorRepository.findActiveById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Doctor", "id", id));
         
+        ListKeys before = ListKeys.of(doctor);
         doctor.setIsAvailable(isAvailable);
         Doctor updatedDoctor = doctorRepository.save(doctor);
+        evictListCaches(before, ListKeys.of(updatedDoctor));
+        typeaheadIndex.indexAfterCommit(updatedDoctor);
         
         log.info("Doctor availability updated successfully");
         return new DoctorResponseDto(updatedDoctor);
     }
     
+    // Served from memory; not transactional so the index path never touches a connection
+    public List<DoctorSummaryDto> typeahead(String query, Integer limit) {
+        int size = PageCursor.clampLimit(limit != null ? limit : DEFAULT_TYPEAHEAD_LIMIT);
+        if (typeaheadIndex.isServing()) {
+            return typeaheadIndex.search(query, size);
+        }
+        log.debug("Typeahead index not available, searching the database for: {}", query);
+        return doctorRepository.searchDoctors(query, size).stream()
+                .map(d -> new DoctorSummaryDto(d.getId(), d.getFirstName(), d.getLastName(), d.getSpecialization(),
+                        d.getIsAvailable(), d.getAvailableDaysMask(), d.getStartMinute(), d.getEndMinute(),
+                        d.getUpdatedAt()))
+                .collect(Collectors.toList());
+    }
+    
     @Transactional(readOnly = true)
-    public List<DoctorResponseDto> searchDoctors(String search) {
+    public List<DoctorResponseDto> searchDoctors(String search, Integer limit) {
         log.debug("Searching doctors with query: {}", search);
-        return doctorRepository.searchDoctors(search).stream()
+        return doctorRepository.searchDoctors(search, PageCursor.clampLimit(limit)).stream()
                 .map(DoctorResponseDto::new)
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Evicts every list view the doctor appeared in before the change and appears in after it,
+     * so a changed department or specialization drops both the old and the new key. Runs after
+     * commit so a concurrent read cannot re-cache the pre-change list.
+     */
+    private void evictListCaches(ListKeys before, ListKeys after) {
+        Runnable eviction = () -> {
+            for (ListKeys keys : new ListKeys[] {before, after}) {
+                if (keys == null) {
+                    continue;
+                }
+                evictIfPresent(BY_SPECIALIZATION_CACHE, keys.specialization());
+                evictIfPresent(BY_DEPARTMENT_CACHE, keys.department());
+                if (keys.available()) {
+                    evictIfPresent(AVAILABLE_CACHE, AVAILABLE_KEY);
+                }
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+    
+    private void evictIfPresent(String cacheName, String key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+        }
+    }
+    
+    // The list-view keys a doctor row belongs to at one point in time
+    private record ListKeys(String specialization, String department, boolean available) {
+        
+        static ListKeys of(Doctor doctor) {
+            return new ListKeys(doctor.getSpecialization(), doctor.getDepartment(),
+                    Boolean.TRUE.equals(doctor.getIsAvailable()) && doctor.getDeletedAt() == null);
+        }
+    }
+    
+    // Skips the query when the filter has never seen either value; the unique indexes still apply
+    private void checkCredentialsAvailable(DoctorRequestDto dto, Long excludeId) {
+        if (!credentialFilter.mightBeTaken(dto.getEmail(), dto.getLicenseNumber())) {
+            return;
+        }
+        for (DoctorRepository.CredentialKeys taken : doctorRepository.findActiveCredentialConflicts(
+                dto.getEmail(), dto.getLicenseNumber(), excludeId)) {
+            if (dto.getEmail().equals(taken.getEmail())) {
+                throw new IllegalArgumentException("Doctor with email " + dto.getEmail() + " already exists");
+            }
+            if (dto.getLicenseNumber().equals(taken.getLicenseNumber())) {
+                throw new IllegalArgumentException("Doctor with license number " + dto.getLicenseNumber() + " already exists");
+            }
+        }
+    }
+    
+    // Flushes so a conflict the check did not see surfaces here as the same client error
+    private Doctor saveUnique(Doctor doctor) {
+        Doctor saved;
+        try {
+            saved = doctorRepository.saveAndFlush(doctor);
+        } catch (DataIntegrityViolationException e) {
+            String detail = String.valueOf(e.getMostSpecificCause().getMessage());
+            if (detail.contains("ux_doctors_active_email")) {
+                throw new IllegalArgumentException("Doctor with email " + doctor.getEmail() + " already exists");
+            }
+            if (detail.contains("ux_doctors_active_license_number")) {
+                throw new IllegalArgumentException("Doctor with license number " + doctor.getLicenseNumber() + " already exists");
+            }
+            throw e;
+        }
+        credentialFilter.add(saved.getEmail(), saved.getLicenseNumber());
+        typeaheadIndex.indexAfterCommit(saved);
+        return saved;
+    }
+    
     private void mapDtoToEntity(DoctorRequestDto dto, Doctor doctor) {
         doctor.setFirstName(dto.getFirstName());
         doctor.setLastName(dto.getLastName());
@@ -168,9 +324,9 @@ public class DoctorService {
         doctor.setConsultationFee(dto.getConsultationFee());
         doctor.setDepartment(dto.getDepartment());
         doctor.setRoomNumber(dto.getRoomNumber());
-        doctor.setAvailableDays(dto.getAvailableDays());
-        doctor.setStartTime(dto.getStartTime());
-        doctor.setEndTime(dto.getEndTime());
+        doctor.setAvailableDaysMask(DoctorSchedule.toDayMask(dto.getAvailableDays()));
+        doctor.setStartMinute(DoctorSchedule.toMinuteOfDay(dto.getStartTime()));
+        doctor.setEndMinute(DoctorSchedule.toMinuteOfDay(dto.getEndTime()));
         doctor.setIsAvailable(dto.getIsAvailable());
     }
 }
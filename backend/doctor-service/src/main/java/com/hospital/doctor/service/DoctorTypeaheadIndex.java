@@ -0,0 +1,137 @@
+package com.hospital.doctor.service;
+
+import com.hospital.common.util.PrefixIndex;
+import com.hospital.doctor.dto.DoctorSummaryDto;
+import com.hospital.doctor.model.Doctor;
+import com.hospital.doctor.repository.DoctorRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Typeahead index over the first, last and full names of live doctors.
+ * <p>
+ * Built at startup before the application reports ready. This instance's own writes are
+ * applied once they commit; every refresh interval, rows changed since the last sync (by any
+ * instance) are read back, which also covers writes that raced the startup build.
+ */
+@Component
+@Slf4j
+public class DoctorTypeaheadIndex implements ApplicationRunner {
+    
+    // Re-read a little before the last sync so rows committed late are not missed
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+    
+    private final DoctorRepository doctorRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final DataSize memoryBudget;
+    private volatile PrefixIndex<DoctorSummaryDto> index;
+    private volatile LocalDateTime lastSync;
+    
+    public DoctorTypeaheadIndex(
+            DoctorRepository doctorRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${typeahead.enabled:true}") boolean enabled,
+            @Value("${typeahead.memory-budget:16MB}") DataSize memoryBudget) {
+        this.doctorRepository = doctorRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.memoryBudget = memoryBudget;
+        this.index = new PrefixIndex<>(memoryBudget.toBytes());
+    }
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            rebuild();
+        }
+    }
+    
+    @Scheduled(initialDelayString = "${typeahead.refresh-interval:30000}",
+               fixedDelayString = "${typeahead.refresh-interval:30000}")
+    public void refresh() {
+        if (lastSync == null) {
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime since = lastSync.minus(SYNC_OVERLAP);
+        PrefixIndex<DoctorSummaryDto> current = index;
+        doctorRepository.findActiveSummariesUpdatedSince(since).forEach(doctor -> put(current, doctor));
+        doctorRepository.findIdsDeletedSince(since).forEach(current::remove);
+        lastSync = startedAt;
+    }
+    
+    /**
+     * {@code false} until the index is built, when disabled, or when the memory budget left
+     * doctors out; callers then use the database search instead.
+     */
+    public boolean isServing() {
+        return lastSync != null && index.isComplete();
+    }
+    
+    public List<DoctorSummaryDto> search(String prefix, int limit) {
+        return index.search(prefix, limit);
+    }
+    
+    // Reads the entity after commit, once the flush has set updatedAt
+    public void indexAfterCommit(Doctor doctor) {
+        afterCommit(() -> put(index, new DoctorSummaryDto(
+                doctor.getId(), doctor.getFirstName(), doctor.getLastName(), doctor.getSpecialization(),
+                doctor.getIsAvailable(), doctor.getAvailableDaysMask(), doctor.getStartMinute(),
+                doctor.getEndMinute(), doctor.getUpdatedAt())));
+    }
+    
+    public void removeAfterCommit(Long id) {
+        afterCommit(() -> index.remove(id));
+    }
+    
+    private void rebuild() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        PrefixIndex<DoctorSummaryDto> fresh = new PrefixIndex<>(memoryBudget.toBytes());
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<DoctorSummaryDto> doctors = doctorRepository.streamAllActiveSummaries()) {
+                doctors.forEach(doctor -> put(fresh, doctor));
+            }
+        });
+        index = fresh;
+        lastSync = startedAt;
+        log.info("Indexed {} doctors for typeahead using about {} KB{}", fresh.size(),
+                fresh.estimatedBytes() / 1024, fresh.isComplete() ? "" : " (memory budget reached, using database search)");
+    }
+    
+    private static void put(PrefixIndex<DoctorSummaryDto> index, DoctorSummaryDto doctor) {
+        index.put(doctor.getId(), doctor, List.of(
+                doctor.getFirstName(),
+                doctor.getLastName(),
+                doctor.getFirstName() + " " + doctor.getLastName()));
+    }
+    
+    private void afterCommit(Runnable action) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+-- Baseline matching the schema Hibernate used to generate. IF NOT EXISTS keeps it a
+-- no-op on databases created before migrations were introduced.
+CREATE TABLE IF NOT EXISTS doctors (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name       VARCHAR(50)  NOT NULL,
+    last_name        VARCHAR(50)  NOT NULL,
+    email            VARCHAR(100) NOT NULL UNIQUE,
+    phone            VARCHAR(15)  NOT NULL,
+    license_number   VARCHAR(50)  NOT NULL UNIQUE,
+    specialization   VARCHAR(100) NOT NULL,
+    qualification    TEXT,
+    experience_years INTEGER,
+    consultation_fee DOUBLE PRECISION,
+    department       VARCHAR(100),
+    room_number      VARCHAR(20),
+    start_time       VARCHAR(10),
+    end_time         VARCHAR(10),
+    is_available     BOOLEAN,
+    created_at       TIMESTAMP(6),
+    updated_at       TIMESTAMP(6),
+    deleted_at       TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS doctor_availability (
+    doctor_id   BIGINT NOT NULL REFERENCES doctors (id),
+    day_of_week VARCHAR(255)
+);
@@ -0,0 +1,21 @@
+-- Every finder filters on deleted_at IS NULL, so the indexes are partial on live rows.
+
+-- findAllActive, findActivePageAfter/Before, findActiveById, findAllActiveByIds
+CREATE INDEX IF NOT EXISTS ix_doctors_active_id
+    ON doctors (id) WHERE deleted_at IS NULL;
+
+-- findBySpecialization
+CREATE INDEX IF NOT EXISTS ix_doctors_active_specialization
+    ON doctors (specialization) WHERE deleted_at IS NULL;
+
+-- findByDepartment
+CREATE INDEX IF NOT EXISTS ix_doctors_active_department
+    ON doctors (department) WHERE deleted_at IS NULL;
+
+-- findAvailableDoctors
+CREATE INDEX IF NOT EXISTS ix_doctors_available_id
+    ON doctors (id) WHERE is_available = true AND deleted_at IS NULL;
+
+-- Loading availableDays; PostgreSQL does not index foreign keys on its own
+CREATE INDEX IF NOT EXISTS ix_doctor_availability_doctor_id
+    ON doctor_availability (doctor_id);
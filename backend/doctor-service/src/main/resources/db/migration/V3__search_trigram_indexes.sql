@@ -0,0 +1,18 @@
+-- Trigram GIN indexes let the '%term%' predicates in searchDoctors use an index
+-- instead of scanning the table. Each index matches one OR branch of the query.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS ix_doctors_first_name_trgm
+    ON doctors USING gin (lower(first_name) gin_trgm_ops) WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS ix_doctors_last_name_trgm
+    ON doctors USING gin (lower(last_name) gin_trgm_ops) WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS ix_doctors_email_trgm
+    ON doctors USING gin (lower(email) gin_trgm_ops) WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS ix_doctors_specialization_trgm
+    ON doctors USING gin (lower(specialization) gin_trgm_ops) WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS ix_doctors_department_trgm
+    ON doctors USING gin (lower(department) gin_trgm_ops) WHERE deleted_at IS NULL;
@@ -0,0 +1,74 @@
+-- Availability moves from the doctor_availability element collection and "HH:mm" strings
+-- to columns on doctors: a 7-bit day mask (bit 0 = Monday) and minute-of-day integers.
+ALTER TABLE doctors ADD COLUMN IF NOT EXISTS available_days_mask SMALLINT NOT NULL DEFAULT 0;
+ALTER TABLE doctors ADD COLUMN IF NOT EXISTS start_minute SMALLINT;
+ALTER TABLE doctors ADD COLUMN IF NOT EXISTS end_minute SMALLINT;
+
+-- Days were free text; match on the first three letters like the application does
+UPDATE doctors d
+SET available_days_mask = COALESCE((
+    SELECT bit_or(CASE upper(left(trim(a.day_of_week), 3))
+                      WHEN 'MON' THEN 1
+                      WHEN 'TUE' THEN 2
+                      WHEN 'WED' THEN 4
+                      WHEN 'THU' THEN 8
+                      WHEN 'FRI' THEN 16
+                      WHEN 'SAT' THEN 32
+                      WHEN 'SUN' THEN 64
+                      ELSE 0
+                  END)
+    FROM doctor_availability a
+    WHERE a.doctor_id = d.id), 0)::SMALLINT;
+
+UPDATE doctors
+SET start_minute = (split_part(trim(start_time), ':', 1)::INT * 60 + split_part(trim(start_time), ':', 2)::INT)::SMALLINT
+WHERE trim(start_time) ~ '^([01]?[0-9]|2[0-3]):[0-5][0-9]$';
+
+UPDATE doctors
+SET end_minute = (split_part(trim(end_time), ':', 1)::INT * 60 + split_part(trim(end_time), ':', 2)::INT)::SMALLINT
+WHERE trim(end_time) ~ '^([01]?[0-9]|2[0-3]):[0-5][0-9]$';
+
+ALTER TABLE doctors
+    ADD CONSTRAINT ck_doctors_available_days_mask CHECK (available_days_mask BETWEEN 0 AND 127),
+    ADD CONSTRAINT ck_doctors_start_minute CHECK (start_minute BETWEEN 0 AND 1439),
+    ADD CONSTRAINT ck_doctors_end_minute CHECK (end_minute BETWEEN 0 AND 1439);
+
+-- Legacy values the conversion above cannot read are kept here instead of being dropped silently.
+-- Fix the doctor through the API, then delete the row
+CREATE TABLE doctor_schedule_migration_issues (
+    id          BIGSERIAL PRIMARY KEY,
+    doctor_id   BIGINT       NOT NULL,
+    field       VARCHAR(20)  NOT NULL,
+    value       VARCHAR(255) NOT NULL,
+    recorded_at TIMESTAMP    NOT NULL DEFAULT now()
+);
+
+INSERT INTO doctor_schedule_migration_issues (doctor_id, field, value)
+SELECT doctor_id, 'day_of_week', day_of_week
+FROM doctor_availability
+WHERE trim(coalesce(day_of_week, '')) <> ''
+  AND upper(left(trim(day_of_week), 3)) NOT IN ('MON', 'TUE', 'WED', 'THU', 'FRI', 'SAT', 'SUN');
+
+INSERT INTO doctor_schedule_migration_issues (doctor_id, field, value)
+SELECT id, 'start_time', start_time
+FROM doctors
+WHERE trim(coalesce(start_time, '')) <> '' AND start_minute IS NULL;
+
+INSERT INTO doctor_schedule_migration_issues (doctor_id, field, value)
+SELECT id, 'end_time', end_time
+FROM doctors
+WHERE trim(coalesce(end_time, '')) <> '' AND end_minute IS NULL;
+
+DO $$
+DECLARE
+    issues BIGINT;
+BEGIN
+    SELECT count(*) INTO issues FROM doctor_schedule_migration_issues;
+    IF issues > 0 THEN
+        RAISE WARNING '% legacy schedule value(s) could not be converted; see doctor_schedule_migration_issues', issues;
+    END IF;
+END $$;
+
+ALTER TABLE doctors DROP COLUMN start_time;
+ALTER TABLE doctors DROP COLUMN end_time;
+DROP TABLE doctor_availability;
@@ -0,0 +1,28 @@
+-- Uniqueness applies to live doctors only, as the service has always checked it, so a
+-- soft-deleted doctor's email or license number can be registered again. The unique indexes
+-- let findActiveCredentialConflicts answer both checks from the index and reject any
+-- duplicate the service-side check misses.
+
+-- Replace the table-wide unique constraints, whatever names they were created under
+DO $$
+DECLARE
+    constraint_name TEXT;
+BEGIN
+    FOR constraint_name IN
+        SELECT con.conname
+        FROM pg_constraint con
+        JOIN pg_attribute att ON att.attrelid = con.conrelid AND att.attnum = ANY (con.conkey)
+        WHERE con.conrelid = 'doctors'::regclass
+          AND con.contype = 'u'
+          AND cardinality(con.conkey) = 1
+          AND att.attname IN ('email', 'license_number')
+    LOOP
+        EXECUTE format('ALTER TABLE doctors DROP CONSTRAINT %I', constraint_name);
+    END LOOP;
+END $$;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_doctors_active_email
+    ON doctors (email) WHERE deleted_at IS NULL;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_doctors_active_license_number
+    ON doctors (license_number) WHERE deleted_at IS NULL;
@@ -0,0 +1,6 @@
+-- Typeahead catch-up: findActiveSummariesUpdatedSince and findIdsDeletedSince
+CREATE INDEX IF NOT EXISTS ix_doctors_active_updated_at
+    ON doctors (updated_at) WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS ix_doctors_deleted_at
+    ON doctors (deleted_at) WHERE deleted_at IS NOT NULL;
@@ -0,0 +1,87 @@
+package com.hospital.patient.config;
+
+import com.hospital.patient.dto.PatientResponseDto;
+import com.hospital.patient.model.Patient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode time of a cached {@link PatientResponseDto} with each {@code cache.redis.codec},
+ * using the serializers {@link RedisConfig} builds. {@link #main} prints the bytes per entry first.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PatientCodecBenchmark {
+    
+    @Param({"json", "binary"})
+    public String codec;
+    
+    private RedisSerializer<Object> serializer;
+    private PatientResponseDto patient;
+    private byte[] encoded;
+    
+    @Setup
+    public void setUp() {
+        serializer = new RedisConfig().createCacheValueSerializer(codec);
+        patient = samplePatient();
+        encoded = serializer.serialize(patient);
+    }
+    
+    @Benchmark
+    public byte[] encode() {
+        return serializer.serialize(patient);
+    }
+    
+    @Benchmark
+    public Object decode() {
+        return serializer.deserialize(encoded);
+    }
+    
+    static PatientResponseDto samplePatient() {
+        PatientResponseDto patient = new PatientResponseDto();
+        patient.setId(123456L);
+        patient.setFirstName("Alexandra");
+        patient.setLastName("Fitzgerald");
+        patient.setEmail("alexandra.fitzgerald@example.com");
+        patient.setPhone("9876543210");
+        patient.setDateOfBirth(LocalDate.of(1985, 3, 20));
+        patient.setGender(Patient.Gender.FEMALE);
+        patient.setAddress("42 Park Avenue, Springfield");
+        patient.setBloodGroup("O+");
+        patient.setEmergencyContact("9876500000");
+        patient.setCreatedAt(LocalDateTime.of(2024, 1, 15, 9, 30, 12, 345678000));
+        patient.setUpdatedAt(LocalDateTime.of(2024, 6, 2, 17, 5, 48, 901234000));
+        return patient;
+    }
+    
+    public static void main(String[] args) throws Exception {
+        PatientResponseDto patient = samplePatient();
+        for (String codec : new String[] {"json", "binary"}) {
+            int bytes = new RedisConfig().createCacheValueSerializer(codec).serialize(patient).length;
+            System.out.printf("%-6s %4d bytes per entry%n", codec, bytes);
+        }
+        new Runner(new OptionsBuilder().include(PatientCodecBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,180 @@
+package com.hospital.patient.config;
+
+import com.hospital.patient.dto.PatientResponseDto;
+import com.hospital.patient.model.Patient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Compact binary Redis value format for {@link PatientResponseDto}: a magic byte, a format
+ * version and the fields in declaration order, each nullable field behind a presence flag.
+ * No class names or property names are written.
+ * <p>
+ * Binary entries written with another version decode as {@code null}, which the cache treats
+ * as a miss, so the entry is reloaded and overwritten. Any other value or payload (including
+ * JSON written before this format existed) goes through the fallback serializer.
+ */
+@Slf4j
+public class PatientBinaryRedisSerializer implements RedisSerializer<Object> {
+    
+    // Never a valid first byte of the JSON the fallback writes
+    static final byte MAGIC = (byte) 0xB7;
+    
+    // Bump whenever fields are added, removed or reordered. 2: clinical fields moved off the patient
+    static final byte VERSION = 2;
+    
+    private final RedisSerializer<Object> fallback;
+    
+    public PatientBinaryRedisSerializer(RedisSerializer<Object> fallback) {
+        this.fallback = fallback;
+    }
+    
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (!(value instanceof PatientResponseDto patient)) {
+            return fallback.serialize(value);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(MAGIC);
+            out.writeByte(VERSION);
+            writeLong(out, patient.getId());
+            writeString(out, patient.getFirstName());
+            writeString(out, patient.getLastName());
+            writeString(out, patient.getEmail());
+            writeString(out, patient.getPhone());
+            writeDate(out, patient.getDateOfBirth());
+            writeString(out, patient.getGender() != null ? patient.getGender().name() : null);
+            writeString(out, patient.getAddress());
+            writeString(out, patient.getBloodGroup());
+            writeString(out, patient.getEmergencyContact());
+            writeDateTime(out, patient.getCreatedAt());
+            writeDateTime(out, patient.getUpdatedAt());
+        } catch (IOException e) {
+            throw new SerializationException("Could not write patient cache entry", e);
+        }
+        return bytes.toByteArray();
+    }
+    
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return fallback.deserialize(bytes);
+        }
+        if (bytes.length < 2 || bytes[1] != VERSION) {
+            log.debug("Ignoring patient cache entry with unsupported format version");
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 2, bytes.length - 2))) {
+            PatientResponseDto patient = new PatientResponseDto();
+            patient.setId(readLong(in));
+            patient.setFirstName(readString(in));
+            patient.setLastName(readString(in));
+            patient.setEmail(readString(in));
+            patient.setPhone(readString(in));
+            patient.setDateOfBirth(readDate(in));
+            String gender = readString(in);
+            patient.setGender(gender != null ? Patient.Gender.valueOf(gender) : null);
+            patient.setAddress(readString(in));
+            patient.setBloodGroup(readString(in));
+            patient.setEmergencyContact(readString(in));
+            patient.setCreatedAt(readDateTime(in));
+            patient.setUpdatedAt(readDateTime(in));
+            return patient;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new SerializationException("Could not read patient cache entry", e);
+        }
+    }
+    
+    private static void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+    
+    // Length prefix is a varint of (length + 1); 0 marks null, so short strings cost one extra byte
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, utf8.length + 1);
+        out.write(utf8);
+    }
+    
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+    
+    private static void writeDate(DataOutputStream out, LocalDate value) throws IOException {
+        writeLong(out, value != null ? value.toEpochDay() : null);
+    }
+    
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+    
+    private static Long readLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+    
+    private static String readString(DataInputStream in) throws IOException {
+        int length = readVarInt(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+    
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+    
+    private static LocalDate readDate(DataInputStream in) throws IOException {
+        Long epochDay = readLong(in);
+        return epochDay != null ? LocalDate.ofEpochDay(epochDay) : null;
+    }
+    
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        long epochSecond = in.readLong();
+        int nano = in.readInt();
+        return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+}
@@ -1,15 +1,24 @@
 package com.hospital.patient.controller;
 
 import com.hospital.common.dto.ApiResponse;
+import com.hospital.common.dto.CursorPage;
+import com.hospital.common.util.ETags;
+import com.hospital.patient.dto.PatientClinicalDto;
+import com.hospital.patient.dto.PatientImportResultDto;
 import com.hospital.patient.dto.PatientRequestDto;
 import com.hospital.patient.dto.PatientResponseDto;
+import com.hospital.patient.dto.PatientSummaryDto;
+import com.hospital.patient.service.PatientImportService;
 import com.hospital.patient.service.PatientService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -18,32 +27,98 @@ import java.util.List;
 public class PatientController {
     
     private final PatientService patientService;
+    private final PatientImportService patientImportService;
     
+    // Clinical fields are opt-in on every endpoint returning PatientResponseDto (includeClinical=true)
     @PostMapping
     public ResponseEntity<ApiResponse<PatientResponseDto>> createPatient(
-            @Valid @RequestBody PatientRequestDto requestDto) {
+            @Valid @RequestBody PatientRequestDto requestDto,
+            @RequestParam(defaultValue = "false") boolean includeClinical) {
         PatientResponseDto response = patientService.createPatient(requestDto);
+        if (includeClinical) {
+            // Read back after the commit; the cached DTO stays without clinical text
+            response = patientService.getPatientWithClinicalById(response.getId());
+        }
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success("Patient created successfully", response));
     }
     
+    // Streams the body; see PatientImportService for chunking and deduplication
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ApiResponse<PatientImportResultDto>> importPatients(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        PatientImportResultDto response = patientImportService.importPatients(body, MediaType.parseMediaType(contentType));
+        return ResponseEntity.ok(ApiResponse.success("Patient import finished", response));
+    }
+    
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<PatientResponseDto>> getPatientById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<PatientResponseDto>> getPatientById(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean includeClinical) {
+        if (includeClinical) {
+            PatientResponseDto response = patientService.getPatientWithClinicalById(id);
+            return okWithETag(response, clinicalEtagOf(response));
+        }
         PatientResponseDto response = patientService.getPatientById(id);
+        return okWithETag(response, etagOf(response));
+    }
+    
+    @GetMapping("/{id}/clinical")
+    public ResponseEntity<ApiResponse<PatientClinicalDto>> getClinicalRecord(@PathVariable Long id) {
+        PatientClinicalDto response = patientService.getClinicalRecord(id);
+        return okWithETag(response, ETags.of(response.getPatientId(), response.getUpdatedAt()));
+    }
+    
+    @GetMapping("/batch")
+    public ResponseEntity<ApiResponse<List<PatientResponseDto>>> getPatientsByIds(
+            @RequestParam List<Long> ids,
+            @RequestParam(defaultValue = "false") boolean includeClinical) {
+        List<PatientResponseDto> response = patientService.getPatientsByIds(ids, includeClinical);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
     
-    @GetMapping
-    public ResponseEntity<ApiResponse<List<PatientResponseDto>>> getAllPatients() {
-        List<PatientResponseDto> response = patientService.getAllPatients();
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<ApiResponse<PatientSummaryDto>> getPatientSummary(@PathVariable Long id) {
+        PatientSummaryDto response = patientService.getPatientSummary(id);
+        // Same version as the full resource, so callers can revalidate with what they cached
+        return okWithETag(response, ETags.of(response.getId(), response.getUpdatedAt()));
+    }
+    
+    @GetMapping("/summary")
+    public ResponseEntity<ApiResponse<List<PatientSummaryDto>>> getPatientSummaries(
+            @RequestParam List<Long> ids) {
+        List<PatientSummaryDto> response = patientService.getPatientSummaries(ids);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+    
+    @GetMapping("/page")
+    public ResponseEntity<ApiResponse<CursorPage<PatientResponseDto>>> getPatientsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(defaultValue = "false") boolean includeClinical) {
+        CursorPage<PatientResponseDto> response = patientService.getPatientsPage(cursor, limit, direction, includeClinical);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
     
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<PatientResponseDto>>> getAllPatients(
+            @RequestParam(defaultValue = "false") boolean includeClinical) {
+        List<PatientResponseDto> response = patientService.getAllPatients(includeClinical);
+        return okWithETag(response, ETags.ofList(response,
+                includeClinical ? PatientController::clinicalEtagOf : PatientController::etagOf));
+    }
+    
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<PatientResponseDto>> updatePatient(
             @PathVariable Long id,
-            @Valid @RequestBody PatientRequestDto requestDto) {
+            @Valid @RequestBody PatientRequestDto requestDto,
+            @RequestParam(defaultValue = "false") boolean includeClinical) {
         PatientResponseDto response = patientService.updatePatient(id, requestDto);
+        if (includeClinical) {
+            response = patientService.getPatientWithClinicalById(id);
+        }
         return ResponseEntity.ok(ApiResponse.success("Patient updated successfully", response));
     }
     
@@ -53,10 +128,34 @@ public class PatientController {
         return ResponseEntity.ok(ApiResponse.success("Patient deleted successfully", null));
     }
     
+    @GetMapping("/typeahead")
+    public ResponseEntity<ApiResponse<List<PatientSummaryDto>>> typeahead(
+            @RequestParam String query,
+            @RequestParam(required = false) Integer limit) {
+        List<PatientSummaryDto> response = patientService.typeahead(query, limit);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+    
     @GetMapping("/search")
     public ResponseEntity<ApiResponse<List<PatientResponseDto>>> searchPatients(
-            @RequestParam String query) {
-        List<PatientResponseDto> response = patientService.searchPatients(query);
+            @RequestParam String query,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "false") boolean includeClinical) {
+        List<PatientResponseDto> response = patientService.searchPatients(query, limit, includeClinical);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
+    
+    private static String etagOf(PatientResponseDto patient) {
+        return ETags.of(patient.getId(), patient.getUpdatedAt());
+    }
+    
+    // Clinical text is versioned separately from the patient row
+    private static String clinicalEtagOf(PatientResponseDto patient) {
+        return ETags.of(patient.getId(), patient.getUpdatedAt(), patient.getMedicalHistory(), patient.getAllergies());
+    }
+    
+    // Spring answers a matching If-None-Match with 304 and skips writing the body
+    private static <T> ResponseEntity<ApiResponse<T>> okWithETag(T body, String etag) {
+        return ResponseEntity.ok().eTag(etag).body(ApiResponse.success(body));
+    }
 }
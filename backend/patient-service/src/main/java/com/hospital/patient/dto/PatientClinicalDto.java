@@ -0,0 +1,26 @@
+package com.hospital.patient.dto;
+
+import com.hospital.patient.model.PatientClinicalRecord;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientClinicalDto {
+    
+    private Long patientId;
+    private String medicalHistory;
+    private String allergies;
+    private LocalDateTime updatedAt;
+    
+    public PatientClinicalDto(PatientClinicalRecord record) {
+        this.patientId = record.getPatientId();
+        this.medicalHistory = record.getMedicalHistory();
+        this.allergies = record.getAllergies();
+        this.updatedAt = record.getUpdatedAt();
+    }
+}
@@ -0,0 +1,28 @@
+package com.hospital.patient.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class PatientImportResultDto {
+    
+    private long rowsRead;
+    private long imported;
+    private long duplicates;
+    private long invalid;
+    private List<RowError> errors = new ArrayList<>();
+    private boolean errorsTruncated;  // More rows failed than the report lists
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long row;  // 1-based data row, not counting a CSV header
+        private String message;
+    }
+}
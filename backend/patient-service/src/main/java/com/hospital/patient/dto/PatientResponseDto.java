@@ -1,6 +1,7 @@
 package com.hospital.patient.dto;
 
 import com.hospital.patient.model.Patient;
+import com.hospital.patient.model.PatientClinicalRecord;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -23,7 +24,7 @@ public class PatientResponseDto {
     private String address;
     private String bloodGroup;
     private String emergencyContact;
-    private String medicalHistory;
+    private String medicalHistory;  // Only filled when clinical data is requested
     private String allergies;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -39,9 +40,15 @@ public class PatientResponseDto {
         this.address = patient.getAddress();
         this.bloodGroup = patient.getBloodGroup();
         this.emergencyContact = patient.getEmergencyContact();
-        this.medicalHistory = patient.getMedicalHistory();
-        this.allergies = patient.getAllergies();
         this.createdAt = patient.getCreatedAt();
         this.updatedAt = patient.getUpdatedAt();
     }
+    
+    public PatientResponseDto(Patient patient, PatientClinicalRecord clinicalRecord) {
+        this(patient);
+        if (clinicalRecord != null) {
+            this.medicalHistory = clinicalRecord.getMedicalHistory();
+            this.allergies = clinicalRecord.getAllergies();
+        }
+    }
 }
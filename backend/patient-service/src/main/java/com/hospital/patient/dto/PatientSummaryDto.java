@@ -0,0 +1,22 @@
+package com.hospital.patient.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * The fields other services need to reference a patient. Built directly by a JPQL
+ * constructor expression, so no {@code Patient} entity is loaded for it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientSummaryDto {
+    
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private LocalDateTime updatedAt;
+}
@@ -27,7 +27,7 @@ public class Patient {
     @Column(name = "last_name", nullable = false, length = 50)
     private String lastName;
     
-    @Column(name = "email", unique = true, length = 100)
+    @Column(name = "email", length = 100)
     private String email;
     
     @Column(name = "phone", nullable = false, length = 15)
@@ -49,12 +49,6 @@ public class Patient {
     @Column(name = "emergency_contact", length = 15)
     private String emergencyContact;
     
-    @Column(name = "medical_history", columnDefinition = "TEXT")
-    private String medicalHistory;
-    
-    @Column(name = "allergies", columnDefinition = "TEXT")
-    private String allergies;
-    
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,39 @@
+package com.hospital.patient.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Free-text clinical history of a patient, kept apart from {@link Patient} so lookups,
+ * scans and cached copies of the patient stay narrow. Shares the patient's ID.
+ */
+@Entity
+@Table(name = "patient_clinical_records")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientClinicalRecord {
+    
+    @Id
+    @Column(name = "patient_id")
+    private Long patientId;
+    
+    @Column(name = "medical_history", columnDefinition = "TEXT")
+    private String medicalHistory;
+    
+    @Column(name = "allergies", columnDefinition = "TEXT")
+    private String allergies;
+    
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    public PatientClinicalRecord(Long patientId) {
+        this.patientId = patientId;
+    }
+}
@@ -0,0 +1,9 @@
+package com.hospital.patient.repository;
+
+import com.hospital.patient.model.PatientClinicalRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PatientClinicalRecordRepository extends JpaRepository<PatientClinicalRecord, Long> {
+}
@@ -0,0 +1,81 @@
+package com.hospital.patient.repository;
+
+import com.hospital.patient.model.Patient;
+import com.hospital.patient.model.PatientClinicalRecord;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC batch inserts for bulk imports. Hibernate cannot batch inserts into an identity
+ * column, so IDs are drawn from the column's sequence up front and written explicitly.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PatientImportRepository {
+    
+    private static final String INSERT_PATIENT =
+            "INSERT INTO patients (id, first_name, last_name, email, phone, date_of_birth, gender, " +
+            "address, blood_group, emergency_contact, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final int[] PATIENT_TYPES = {
+            Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.DATE,
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP, Types.TIMESTAMP};
+    
+    private static final String INSERT_CLINICAL_RECORD =
+            "INSERT INTO patient_clinical_records (patient_id, medical_history, allergies, updated_at) " +
+            "VALUES (?, ?, ?, ?)";
+    
+    private static final int[] CLINICAL_RECORD_TYPES = {Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP};
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public List<Long> allocateIds(int count) {
+        return jdbcTemplate.queryForList(
+                "SELECT nextval(pg_get_serial_sequence('patients', 'id')) FROM generate_series(1, ?)",
+                Long.class, count);
+    }
+    
+    // Patients must already carry IDs from allocateIds
+    public void insertPatients(List<Patient> patients) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = patients.stream()
+                .map(patient -> new Object[]{
+                        patient.getId(),
+                        patient.getFirstName(),
+                        patient.getLastName(),
+                        patient.getEmail(),
+                        patient.getPhone(),
+                        Date.valueOf(patient.getDateOfBirth()),
+                        patient.getGender().name(),
+                        patient.getAddress(),
+                        patient.getBloodGroup(),
+                        patient.getEmergencyContact(),
+                        now,
+                        now})
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT_PATIENT, rows, PATIENT_TYPES);
+    }
+    
+    public void insertClinicalRecords(List<PatientClinicalRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = records.stream()
+                .map(record -> new Object[]{
+                        record.getPatientId(),
+                        record.getMedicalHistory(),
+                        record.getAllergies(),
+                        now})
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT_CLINICAL_RECORD, rows, CLINICAL_RECORD_TYPES);
+    }
+}
@@ -1,12 +1,20 @@
 package com.hospital.patient.repository;
 
+import com.hospital.patient.dto.PatientSummaryDto;
 import com.hospital.patient.model.Patient;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PatientRepository extends JpaRepository<Patient, Long> {
@@ -14,20 +22,82 @@ public interface PatientRepository extends JpaRepository<Patient, Long> {
     @Query("SELECT p FROM Patient p WHERE p.deletedAt IS NULL")
     List<Patient> findAllActive();
     
+    @Query("SELECT p FROM Patient p WHERE p.deletedAt IS NULL AND p.id > :afterId ORDER BY p.id ASC")
+    List<Patient> findActivePageAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT p FROM Patient p WHERE p.deletedAt IS NULL AND p.id < :beforeId ORDER BY p.id DESC")
+    List<Patient> findActivePageBefore(@Param("beforeId") Long beforeId, Pageable pageable);
+    
+    @Query("SELECT p FROM Patient p WHERE p.deletedAt IS NULL ORDER BY p.updatedAt DESC, p.id DESC")
+    List<Patient> findRecentlyUpdated(Pageable pageable);
+    
     @Query("SELECT p FROM Patient p WHERE p.id = :id AND p.deletedAt IS NULL")
     Optional<Patient> findActiveById(Long id);
     
-    @Query("SELECT p FROM Patient p WHERE p.email = :email AND p.deletedAt IS NULL")
-    Optional<Patient> findByEmail(String email);
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT new com.hospital.patient.dto.PatientSummaryDto(p.id, p.firstName, p.lastName, p.updatedAt) " +
+           "FROM Patient p WHERE p.deletedAt IS NULL")
+    Stream<PatientSummaryDto> streamAllActiveSummaries();
+    
+    // Typeahead catch-up; served by the indexes on updated_at (V4) and deleted_at (V7)
+    @Query("SELECT new com.hospital.patient.dto.PatientSummaryDto(p.id, p.firstName, p.lastName, p.updatedAt) " +
+           "FROM Patient p WHERE p.deletedAt IS NULL AND p.updatedAt >= :since")
+    List<PatientSummaryDto> findActiveSummariesUpdatedSince(@Param("since") LocalDateTime since);
+    
+    @Query("SELECT p.id FROM Patient p WHERE p.deletedAt >= :since")
+    List<Long> findIdsDeletedSince(@Param("since") LocalDateTime since);
+    
+    @Query("SELECT COUNT(p) > 0 FROM Patient p WHERE p.id = :id AND p.deletedAt IS NULL")
+    boolean existsActiveById(@Param("id") Long id);
+    
+    @Query("SELECT p FROM Patient p WHERE p.id IN :ids AND p.deletedAt IS NULL")
+    List<Patient> findAllActiveByIds(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT new com.hospital.patient.dto.PatientSummaryDto(p.id, p.firstName, p.lastName, p.updatedAt) " +
+           "FROM Patient p WHERE p.id = :id AND p.deletedAt IS NULL")
+    Optional<PatientSummaryDto> findActiveSummaryById(@Param("id") Long id);
+    
+    @Query("SELECT new com.hospital.patient.dto.PatientSummaryDto(p.id, p.firstName, p.lastName, p.updatedAt) " +
+           "FROM Patient p WHERE p.id IN :ids AND p.deletedAt IS NULL")
+    List<PatientSummaryDto> findActiveSummariesByIds(@Param("ids") Collection<Long> ids);
+    
+    // One round trip for both uniqueness checks, served by the unique indexes from V6
+    @Query("SELECT p.email AS email, p.phone AS phone FROM Patient p WHERE p.deletedAt IS NULL " +
+           "AND (p.email = :email OR p.phone = :phone) AND (:excludeId IS NULL OR p.id <> :excludeId)")
+    List<ContactKeys> findActiveContactConflicts(@Param("email") String email,
+                                                 @Param("phone") String phone,
+                                                 @Param("excludeId") Long excludeId);
+    
+    // Set-based variant for bulk imports: every live patient using any of the values
+    @Query("SELECT p.email AS email, p.phone AS phone FROM Patient p WHERE p.deletedAt IS NULL " +
+           "AND (p.email IN :emails OR p.phone IN :phones)")
+    List<ContactKeys> findActiveContactsIn(@Param("emails") Collection<String> emails,
+                                           @Param("phones") Collection<String> phones);
+    
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT p.email AS email, p.phone AS phone FROM Patient p WHERE p.deletedAt IS NULL")
+    Stream<ContactKeys> streamAllActiveContacts();
     
-    @Query("SELECT p FROM Patient p WHERE p.phone = :phone AND p.deletedAt IS NULL")
-    Optional<Patient> findByPhone(String phone);
+    // Same substring matching as before, served by the trigram indexes from V3 and
+    // ranked so the closest matches come first
+    @Query(value = "SELECT * FROM patients p WHERE " +
+           "(LOWER(p.first_name) LIKE '%' || LOWER(:search) || '%' OR " +
+           "LOWER(p.last_name) LIKE '%' || LOWER(:search) || '%' OR " +
+           "LOWER(p.email) LIKE '%' || LOWER(:search) || '%' OR " +
+           "p.phone LIKE '%' || :search || '%') AND " +
+           "p.deleted_at IS NULL " +
+           "ORDER BY GREATEST(" +
+           "similarity(LOWER(p.first_name), LOWER(:search)), " +
+           "similarity(LOWER(p.last_name), LOWER(:search)), " +
+           "similarity(LOWER(p.email), LOWER(:search)), " +
+           "similarity(p.phone, :search)) DESC, p.id " +
+           "LIMIT :limit",
+           nativeQuery = true)
+    List<Patient> searchPatients(@Param("search") String search, @Param("limit") int limit);
     
-    @Query("SELECT p FROM Patient p WHERE " +
-           "(LOWER(p.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(p.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(p.email) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "p.phone LIKE CONCAT('%', :search, '%')) AND " +
-           "p.deletedAt IS NULL")
-    List<Patient> searchPatients(String search);
+    interface ContactKeys {
+        String getEmail();
+        
+        String getPhone();
+    }
 }
@@ -0,0 +1,86 @@
+package com.hospital.patient.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 CSV one record at a time: comma-separated fields, optionally in double quotes,
+ * with {@code ""} for a literal quote inside a quoted field. Quoted fields may span lines.
+ */
+class CsvRecordReader {
+    
+    // Bounds memory when a stray quote would otherwise swallow the rest of the input
+    private static final int MAX_RECORD_CHARS = 1 << 20;
+    
+    private static final int NONE = -2;
+    
+    private final Reader reader;
+    private int pushedBack = NONE;
+    
+    CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+    
+    /**
+     * The next record's fields, or {@code null} at the end of the input.
+     */
+    List<String> next() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int length = 0;
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        for (; c != -1; c = read()) {
+            if (++length > MAX_RECORD_CHARS) {
+                throw new IOException("CSV record longer than " + MAX_RECORD_CHARS + " characters");
+            }
+            if (quoted) {
+                if (c != '"') {
+                    field.append((char) c);
+                } else {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        pushedBack = following;
+                    }
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c == '\r') {
+                int following = read();
+                if (following != '\n') {
+                    pushedBack = following;
+                }
+                break;
+            } else {
+                field.append((char) c);
+            }
+        }
+        if (quoted) {
+            throw new IOException("Unterminated quoted field at end of CSV input");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+    
+    private int read() throws IOException {
+        if (pushedBack != NONE) {
+            int c = pushedBack;
+            pushedBack = NONE;
+            return c;
+        }
+        return reader.read();
+    }
+}
@@ -0,0 +1,132 @@
+package com.hospital.patient.service;
+
+import com.hospital.common.cache.LayeredCacheManager;
+import com.hospital.patient.dto.PatientResponseDto;
+import com.hospital.patient.repository.PatientRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Preloads the most recently updated patients into the 'patients' Redis cache.
+ * <p>
+ * Runs as an {@link ApplicationRunner}, so startup completes (and the application reports
+ * ready) only after the warm-up or its time budget is spent. A marker key is written when a
+ * warm-up finishes; if it disappears because Redis was flushed, evicted it or restarted
+ * empty, the next periodic check warms the cache again.
+ */
+@Component
+@Slf4j
+public class PatientCacheWarmer implements ApplicationRunner {
+    
+    private static final String CACHE_NAME = "patients";
+    
+    private final PatientRepository patientRepository;
+    private final LayeredCacheManager cacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int maxEntries;
+    private final int chunkSize;
+    private final Duration timeBudget;
+    private final String markerKey;
+    private final AtomicBoolean running = new AtomicBoolean();
+    
+    public PatientCacheWarmer(
+            PatientRepository patientRepository,
+            LayeredCacheManager cacheManager,
+            StringRedisTemplate redisTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${cache.warmup.enabled:true}") boolean enabled,
+            @Value("${cache.warmup.max-entries:10000}") int maxEntries,
+            @Value("${cache.warmup.chunk-size:500}") int chunkSize,
+            @Value("${cache.warmup.time-budget:20s}") Duration timeBudget,
+            @Value("${cache.warmup.marker-key:patient-service:cache-warm}") String markerKey) {
+        this.patientRepository = patientRepository;
+        this.cacheManager = cacheManager;
+        this.redisTemplate = redisTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.chunkSize = chunkSize;
+        this.timeBudget = timeBudget;
+        this.markerKey = markerKey;
+    }
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            warmUp("startup");
+        }
+    }
+    
+    @Scheduled(initialDelayString = "${cache.warmup.check-interval:30000}",
+               fixedDelayString = "${cache.warmup.check-interval:30000}")
+    public void rewarmIfFlushed() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(markerKey))) {
+                return;
+            }
+        } catch (RuntimeException e) {
+            log.debug("Redis unavailable, skipping cache warm-up check: {}", e.getMessage());
+            return;
+        }
+        warmUp("Redis flush or reconnect");
+    }
+    
+    private void warmUp(String reason) {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + timeBudget.toNanos();
+        int warmed = 0;
+        try {
+            for (int page = 0; warmed < maxEntries && System.nanoTime() < deadline; page++) {
+                PageRequest pageRequest = PageRequest.of(page, chunkSize);
+                List<PatientResponseDto> chunk = transactionTemplate.execute(status ->
+                        patientRepository.findRecentlyUpdated(pageRequest).stream()
+                                .map(PatientResponseDto::new)
+                                .collect(Collectors.toList()));
+                if (chunk == null || chunk.isEmpty()) {
+                    break;
+                }
+                if (chunk.size() > maxEntries - warmed) {
+                    chunk = chunk.subList(0, maxEntries - warmed);
+                }
+                Map<Long, PatientResponseDto> entries = chunk.stream()
+                        .collect(Collectors.toMap(PatientResponseDto::getId, Function.identity()));
+                cacheManager.preload(CACHE_NAME, entries);
+                warmed += chunk.size();
+                if (chunk.size() < chunkSize) {
+                    break;
+                }
+            }
+            // Written even when the budget ran out, so an unfinished warm-up is not retried in a loop
+            redisTemplate.opsForValue().set(markerKey, Instant.now().toString());
+            log.info("Warmed {} patients into cache on {} in {} ms", warmed, reason,
+                    Duration.ofNanos(System.nanoTime() - startedAt).toMillis());
+        } catch (RuntimeException e) {
+            log.warn("Patient cache warm-up on {} stopped after {} entries", reason, warmed, e);
+        } finally {
+            running.set(false);
+        }
+    }
+}
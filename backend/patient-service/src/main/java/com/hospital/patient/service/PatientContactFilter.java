@@ -0,0 +1,44 @@
+package com.hospital.patient.service;
+
+import com.hospital.common.util.UniqueKeysFilter;
+import com.hospital.patient.repository.PatientRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+/**
+ * Uniqueness filter over the emails and phone numbers of live patients. Inserts it misses are
+ * rejected by the unique indexes, and {@link PatientService} reports the same error the
+ * query would have.
+ */
+@Component
+public class PatientContactFilter extends UniqueKeysFilter {
+    
+    private final PatientRepository patientRepository;
+    private final TransactionTemplate transactionTemplate;
+    
+    public PatientContactFilter(
+            PatientRepository patientRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${uniqueness.bloom-filter.enabled:true}") boolean enabled,
+            @Value("${uniqueness.bloom-filter.expected-insertions:2000000}") long expectedInsertions,
+            @Value("${uniqueness.bloom-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        super("patient", enabled, expectedInsertions, falsePositiveRate);
+        this.patientRepository = patientRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+    
+    @Override
+    protected long loadAll() {
+        return transactionTemplate.execute(status -> {
+            try (Stream<PatientRepository.ContactKeys> contacts = patientRepository.streamAllActiveContacts()) {
+                return contacts.mapToLong(contact -> {
+                    add(contact.getEmail(), contact.getPhone());
+                    return 1;
+                }).sum();
+            }
+        });
+    }
+}
@@ -0,0 +1,316 @@
+package com.hospital.patient.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital.patient.dto.PatientImportResultDto;
+import com.hospital.patient.dto.PatientImportResultDto.RowError;
+import com.hospital.patient.dto.PatientRequestDto;
+import com.hospital.patient.model.Patient;
+import com.hospital.patient.model.PatientClinicalRecord;
+import com.hospital.patient.repository.PatientImportRepository;
+import com.hospital.patient.repository.PatientRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports patients from a CSV or NDJSON stream while holding at most one chunk of rows.
+ * <p>
+ * Rows are parsed one at a time and validated against the {@link PatientRequestDto}
+ * constraints. Each chunk is deduplicated within itself and, with one query, against live
+ * patients; earlier chunks are already committed, so that query also catches duplicates
+ * across the file. The chunk is then written with JDBC batch inserts in its own transaction.
+ * Re-running an interrupted import is safe: rows imported the first time come back as
+ * duplicates.
+ */
+@Service
+@Slf4j
+public class PatientImportService {
+    
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    
+    // Header names are the PatientRequestDto properties
+    private static final Set<String> CSV_COLUMNS = Set.of(
+            "firstName", "lastName", "email", "phone", "dateOfBirth", "gender", "address",
+            "bloodGroup", "emergencyContact", "medicalHistory", "allergies");
+    
+    private final PatientRepository patientRepository;
+    private final PatientImportRepository importRepository;
+    private final PatientContactFilter contactFilter;
+    private final PatientTypeaheadIndex typeaheadIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+    
+    public PatientImportService(
+            PatientRepository patientRepository,
+            PatientImportRepository importRepository,
+            PatientContactFilter contactFilter,
+            PatientTypeaheadIndex typeaheadIndex,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            Validator validator,
+            @Value("${patient-import.chunk-size:1000}") int chunkSize,
+            @Value("${patient-import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.patientRepository = patientRepository;
+        this.importRepository = importRepository;
+        this.contactFilter = contactFilter;
+        this.typeaheadIndex = typeaheadIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+    
+    public PatientImportResultDto importPatients(InputStream body, MediaType format) {
+        log.info("Starting {} patient import", format);
+        long startedAt = System.nanoTime();
+        PatientImportResultDto result = new PatientImportResultDto();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024)) {
+            RowSource rows = TEXT_CSV.isCompatibleWith(format) ? csvRows(reader) : ndjsonRows(reader);
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            for (ImportRow row = rows.next(); row != null; row = rows.next()) {
+                result.setRowsRead(result.getRowsRead() + 1);
+                String error = row.error() != null ? row.error() : validate(row.request());
+                if (error != null) {
+                    result.setInvalid(result.getInvalid() + 1);
+                    report(result, row.number(), error);
+                    continue;
+                }
+                // Blank emails are stored as missing so they never collide in the unique index
+                if (row.request().getEmail() != null && row.request().getEmail().isBlank()) {
+                    row.request().setEmail(null);
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, result);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, result);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read import after row " + result.getRowsRead()
+                    + ": " + e.getMessage());
+        }
+        log.info("Patient import finished in {} ms: {} rows, {} imported, {} duplicates, {} invalid",
+                (System.nanoTime() - startedAt) / 1_000_000, result.getRowsRead(), result.getImported(),
+                result.getDuplicates(), result.getInvalid());
+        return result;
+    }
+    
+    private void importChunk(List<ImportRow> chunk, PatientImportResultDto result) {
+        ChunkOutcome outcome;
+        try {
+            outcome = transactionTemplate.execute(status -> writeChunk(chunk));
+        } catch (DataIntegrityViolationException e) {
+            // A registration outside this import took a value after the check; checking
+            // again reports that row as a duplicate instead
+            log.warn("Retrying import chunk after a concurrent registration: {}",
+                    e.getMostSpecificCause().getMessage());
+            outcome = transactionTemplate.execute(status -> writeChunk(chunk));
+        }
+        result.setImported(result.getImported() + outcome.imported());
+        result.setDuplicates(result.getDuplicates() + outcome.duplicates().size());
+        outcome.duplicates().forEach(duplicate -> report(result, duplicate.getRow(), duplicate.getMessage()));
+    }
+    
+    private ChunkOutcome writeChunk(List<ImportRow> chunk) {
+        List<RowError> duplicates = new ArrayList<>();
+        
+        // Duplicates within the chunk; the first occurrence wins
+        Set<String> chunkEmails = new HashSet<>();
+        Set<String> chunkPhones = new HashSet<>();
+        List<ImportRow> candidates = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            String email = row.request().getEmail();
+            String phone = row.request().getPhone();
+            if ((email != null && chunkEmails.contains(email)) || chunkPhones.contains(phone)) {
+                duplicates.add(new RowError(row.number(), "Same email or phone as an earlier row"));
+                continue;
+            }
+            if (email != null) {
+                chunkEmails.add(email);
+            }
+            chunkPhones.add(phone);
+            candidates.add(row);
+        }
+        
+        // Duplicates of live patients, looked up only for values the filter has seen
+        List<String> lookupEmails = new ArrayList<>();
+        List<String> lookupPhones = new ArrayList<>();
+        for (ImportRow row : candidates) {
+            PatientRequestDto request = row.request();
+            if (contactFilter.mightBeTaken(request.getEmail(), request.getPhone())) {
+                if (request.getEmail() != null) {
+                    lookupEmails.add(request.getEmail());
+                }
+                lookupPhones.add(request.getPhone());
+            }
+        }
+        Set<String> takenEmails = new HashSet<>();
+        Set<String> takenPhones = new HashSet<>();
+        if (!lookupPhones.isEmpty()) {
+            for (PatientRepository.ContactKeys taken : patientRepository.findActiveContactsIn(lookupEmails, lookupPhones)) {
+                if (taken.getEmail() != null) {
+                    takenEmails.add(taken.getEmail());
+                }
+                takenPhones.add(taken.getPhone());
+            }
+        }
+        
+        List<PatientRequestDto> accepted = new ArrayList<>(candidates.size());
+        List<Patient> patients = new ArrayList<>(candidates.size());
+        for (ImportRow row : candidates) {
+            PatientRequestDto request = row.request();
+            if (request.getEmail() != null && takenEmails.contains(request.getEmail())) {
+                duplicates.add(new RowError(row.number(), "Patient with email " + request.getEmail() + " already exists"));
+            } else if (takenPhones.contains(request.getPhone())) {
+                duplicates.add(new RowError(row.number(), "Patient with phone " + request.getPhone() + " already exists"));
+            } else {
+                Patient patient = new Patient();
+                PatientService.mapDtoToEntity(request, patient);
+                accepted.add(request);
+                patients.add(patient);
+            }
+        }
+        if (patients.isEmpty()) {
+            return new ChunkOutcome(0, duplicates);
+        }
+        
+        List<Long> ids = importRepository.allocateIds(patients.size());
+        List<PatientClinicalRecord> clinicalRecords = new ArrayList<>();
+        for (int i = 0; i < patients.size(); i++) {
+            Patient patient = patients.get(i);
+            PatientRequestDto request = accepted.get(i);
+            patient.setId(ids.get(i));
+            if (request.getMedicalHistory() != null || request.getAllergies() != null) {
+                clinicalRecords.add(new PatientClinicalRecord(
+                        patient.getId(), request.getMedicalHistory(), request.getAllergies(), null));
+            }
+        }
+        importRepository.insertPatients(patients);
+        importRepository.insertClinicalRecords(clinicalRecords);
+        patients.forEach(patient -> {
+            contactFilter.add(patient.getEmail(), patient.getPhone());
+            typeaheadIndex.indexAfterCommit(patient);
+        });
+        return new ChunkOutcome(patients.size(), duplicates);
+    }
+    
+    private RowSource ndjsonRows(BufferedReader reader) {
+        long[] number = {0};
+        return () -> {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+            number[0]++;
+            try {
+                return new ImportRow(number[0], objectMapper.readValue(line, PatientRequestDto.class), null);
+            } catch (JsonProcessingException e) {
+                return new ImportRow(number[0], null, "Invalid JSON: " + e.getOriginalMessage());
+            }
+        };
+    }
+    
+    private RowSource csvRows(BufferedReader reader) throws IOException {
+        CsvRecordReader records = new CsvRecordReader(reader);
+        List<String> header = records.next();
+        if (header == null) {
+            return () -> null;
+        }
+        List<String> columns = new ArrayList<>();
+        for (String column : header) {
+            String name = column.replace("\uFEFF", "").trim();
+            if (!CSV_COLUMNS.contains(name)) {
+                throw new IllegalArgumentException("Unknown CSV column: " + name);
+            }
+            columns.add(name);
+        }
+        long[] number = {0};
+        return () -> {
+            List<String> fields;
+            do {
+                fields = records.next();
+                if (fields == null) {
+                    return null;
+                }
+            } while (fields.size() == 1 && fields.get(0).isBlank());
+            number[0]++;
+            if (fields.size() != columns.size()) {
+                return new ImportRow(number[0], null,
+                        "Expected " + columns.size() + " fields but found " + fields.size());
+            }
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                String value = fields.get(i).trim();
+                values.put(columns.get(i), value.isEmpty() ? null : value);
+            }
+            try {
+                return new ImportRow(number[0], objectMapper.convertValue(values, PatientRequestDto.class), null);
+            } catch (IllegalArgumentException e) {
+                String detail = e.getCause() instanceof JsonProcessingException json
+                        ? json.getOriginalMessage() : e.getMessage();
+                return new ImportRow(number[0], null, "Invalid value: " + detail);
+            }
+        };
+    }
+    
+    private String validate(PatientRequestDto request) {
+        Set<ConstraintViolation<PatientRequestDto>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+    
+    private void report(PatientImportResultDto result, long row, String message) {
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new RowError(row, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+    
+    @FunctionalInterface
+    private interface RowSource {
+        // null at the end of the input
+        ImportRow next() throws IOException;
+    }
+    
+    // Either a parsed request or the reason the row could not be parsed
+    private record ImportRow(long number, PatientRequestDto request, String error) {
+    }
+    
+    private record ChunkOutcome(int imported, List<RowError> duplicates) {
+    }
+}
@@ -1,20 +1,32 @@
 package com.hospital.patient.service;
 
+import com.hospital.common.dto.CursorPage;
 import com.hospital.common.exception.ResourceNotFoundException;
+import com.hospital.common.util.PageCursor;
+import com.hospital.patient.dto.PatientClinicalDto;
 import com.hospital.patient.dto.PatientRequestDto;
 import com.hospital.patient.dto.PatientResponseDto;
+import com.hospital.patient.dto.PatientSummaryDto;
 import com.hospital.patient.model.Patient;
+import com.hospital.patient.model.PatientClinicalRecord;
+import com.hospital.patient.repository.PatientClinicalRecordRepository;
 import com.hospital.patient.repository.PatientRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,36 +34,33 @@ import java.util.stream.Collectors;
 @Slf4j
 public class PatientService {
     
+    private static final int MAX_BATCH_SIZE = 500;
+    private static final int DEFAULT_TYPEAHEAD_LIMIT = 10;
+    
     private final PatientRepository patientRepository;
+    private final PatientClinicalRecordRepository clinicalRecordRepository;
+    private final PatientContactFilter contactFilter;
+    private final PatientTypeaheadIndex typeaheadIndex;
     
     @Transactional
     @CachePut(value = "patients", key = "#result.id")
     public PatientResponseDto createPatient(PatientRequestDto requestDto) {
         log.info("Creating new patient: {} {}", requestDto.getFirstName(), requestDto.getLastName());
         
-        // Check for duplicate email
-        if (requestDto.getEmail() != null && !requestDto.getEmail().isEmpty()) {
-            patientRepository.findByEmail(requestDto.getEmail()).ifPresent(p -> {
-                throw new IllegalArgumentException("Patient with email " + requestDto.getEmail() + " already exists");
-            });
-        }
-        
-        // Check for duplicate phone
-        patientRepository.findByPhone(requestDto.getPhone()).ifPresent(p -> {
-            throw new IllegalArgumentException("Patient with phone " + requestDto.getPhone() + " already exists");
-        });
+        checkContactsAvailable(requestDto, null);
         
         Patient patient = new Patient();
         mapDtoToEntity(requestDto, patient);
         
-        Patient savedPatient = patientRepository.save(patient);
+        Patient savedPatient = saveUnique(patient);
+        saveClinicalRecord(savedPatient.getId(), requestDto);
         log.info("Patient created successfully with ID: {}", savedPatient.getId());
         
         return new PatientResponseDto(savedPatient);
     }
     
     @Transactional(readOnly = true)
-    @Cacheable(value = "patients", key = "#id")
+    @Cacheable(value = "patients", key = "#id", sync = true)
     public PatientResponseDto getPatientById(Long id) {
         log.debug("Fetching patient with ID: {}", id);
         Patient patient = patientRepository.findActiveById(id)
@@ -59,12 +68,71 @@ public class PatientService {
         return new PatientResponseDto(patient);
     }
     
+    // The full record including clinical fields; not cached, so cached patients stay narrow
+    @Transactional(readOnly = true)
+    public PatientResponseDto getPatientWithClinicalById(Long id) {
+        log.debug("Fetching patient with clinical record, ID: {}", id);
+        Patient patient = patientRepository.findActiveById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Patient", "id", id));
+        return new PatientResponseDto(patient, clinicalRecordRepository.findById(id).orElse(null));
+    }
+    
+    @Transactional(readOnly = true)
+    public PatientClinicalDto getClinicalRecord(Long id) {
+        log.debug("Fetching clinical record for patient ID: {}", id);
+        if (!patientRepository.existsActiveById(id)) {
+            throw new ResourceNotFoundException("Patient", "id", id);
+        }
+        return clinicalRecordRepository.findById(id)
+                .map(PatientClinicalDto::new)
+                .orElseGet(() -> new PatientClinicalDto(id, null, null, null));
+    }
+    
+    @Transactional(readOnly = true)
+    public List<PatientResponseDto> getPatientsByIds(List<Long> ids, boolean includeClinical) {
+        log.debug("Fetching {} patients by ID", ids.size());
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " patients can be fetched in one request");
+        }
+        return toResponses(patientRepository.findAllActiveByIds(new HashSet<>(ids)), includeClinical);
+    }
+    
+    @Transactional(readOnly = true)
+    public PatientSummaryDto getPatientSummary(Long id) {
+        log.debug("Fetching patient summary with ID: {}", id);
+        return patientRepository.findActiveSummaryById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Patient", "id", id));
+    }
+    
+    @Transactional(readOnly = true)
+    public List<PatientSummaryDto> getPatientSummaries(List<Long> ids) {
+        log.debug("Fetching {} patient summaries by ID", ids.size());
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " patients can be fetched in one request");
+        }
+        return patientRepository.findActiveSummariesByIds(new HashSet<>(ids));
+    }
+    
     @Transactional(readOnly = true)
-    public List<PatientResponseDto> getAllPatients() {
+    public List<PatientResponseDto> getAllPatients(boolean includeClinical) {
         log.debug("Fetching all active patients");
-        return patientRepository.findAllActive().stream()
-                .map(PatientResponseDto::new)
-                .collect(Collectors.toList());
+        return toResponses(patientRepository.findAllActive(), includeClinical);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<PatientResponseDto> getPatientsPage(String cursor, Integer limit, String direction,
+                                                          boolean includeClinical) {
+        PageCursor pageCursor = PageCursor.resolve(cursor, direction);
+        int pageSize = PageCursor.clampLimit(limit);
+        log.debug("Fetching active patients page after ID {} (size {})", pageCursor.getLastId(), pageSize);
+        
+        // Fetch one extra row to learn whether another page follows
+        Pageable window = PageRequest.of(0, pageSize + 1);
+        List<Patient> rows = pageCursor.isDescending()
+                ? patientRepository.findActivePageBefore(pageCursor.getLastId(), window)
+                : patientRepository.findActivePageAfter(pageCursor.getLastId(), window);
+        return CursorPage.of(rows, pageSize, Patient::getId, pageCursor.isDescending())
+                .map(patients -> toResponses(patients, includeClinical));
     }
     
     @Transactional
@@ -75,24 +143,11 @@ public class PatientService {
         Patient patient = patientRepository.findActiveById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Patient", "id", id));
         
-        // Check for duplicate email (excluding current patient)
-        if (requestDto.getEmail() != null && !requestDto.getEmail().isEmpty()) {
-            patientRepository.findByEmail(requestDto.getEmail()).ifPresent(p -> {
-                if (!p.getId().equals(id)) {
-                    throw new IllegalArgumentException("Patient with email " + requestDto.getEmail() + " already exists");
-                }
-            });
-        }
-        
-        // Check for duplicate phone (excluding current patient)
-        patientRepository.findByPhone(requestDto.getPhone()).ifPresent(p -> {
-            if (!p.getId().equals(id)) {
-                throw new IllegalArgumentException("Patient with phone " + requestDto.getPhone() + " already exists");
-            }
-        });
+        checkContactsAvailable(requestDto, id);
         
         mapDtoToEntity(requestDto, patient);
-        Patient updatedPatient = patientRepository.save(patient);
+        Patient updatedPatient = saveUnique(patient);
+        saveClinicalRecord(id, requestDto);
         
         log.info("Patient updated successfully with ID: {}", id);
         return new PatientResponseDto(updatedPatient);
@@ -108,19 +163,83 @@ public class PatientService {
         
         patient.setDeletedAt(LocalDateTime.now());
         patientRepository.save(patient);
+        typeaheadIndex.removeAfterCommit(id);
         
         log.info("Patient soft deleted successfully with ID: {}", id);
     }
     
     @Transactional(readOnly = true)
-    public List<PatientResponseDto> searchPatients(String search) {
+    public List<PatientResponseDto> searchPatients(String search, Integer limit, boolean includeClinical) {
         log.debug("Searching patients with query: {}", search);
-        return patientRepository.searchPatients(search).stream()
-                .map(PatientResponseDto::new)
+        return toResponses(patientRepository.searchPatients(search, PageCursor.clampLimit(limit)), includeClinical);
+    }
+    
+    // Served from memory; not transactional so the index path never touches a connection
+    public List<PatientSummaryDto> typeahead(String query, Integer limit) {
+        int size = PageCursor.clampLimit(limit != null ? limit : DEFAULT_TYPEAHEAD_LIMIT);
+        if (typeaheadIndex.isServing()) {
+            return typeaheadIndex.search(query, size);
+        }
+        log.debug("Typeahead index not available, searching the database for: {}", query);
+        return patientRepository.searchPatients(query, size).stream()
+                .map(p -> new PatientSummaryDto(p.getId(), p.getFirstName(), p.getLastName(), p.getUpdatedAt()))
                 .collect(Collectors.toList());
     }
     
-    private void mapDtoToEntity(PatientRequestDto dto, Patient patient) {
+    // With clinical fields, all records of the list are read in one query
+    private List<PatientResponseDto> toResponses(List<Patient> patients, boolean includeClinical) {
+        if (!includeClinical) {
+            return patients.stream()
+                    .map(PatientResponseDto::new)
+                    .collect(Collectors.toList());
+        }
+        Map<Long, PatientClinicalRecord> records = clinicalRecordRepository
+                .findAllById(patients.stream().map(Patient::getId).collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(PatientClinicalRecord::getPatientId, Function.identity()));
+        return patients.stream()
+                .map(patient -> new PatientResponseDto(patient, records.get(patient.getId())))
+                .collect(Collectors.toList());
+    }
+    
+    // Skips the query when the filter has never seen either value; the unique indexes still apply
+    private void checkContactsAvailable(PatientRequestDto dto, Long excludeId) {
+        String email = dto.getEmail() != null && !dto.getEmail().isEmpty() ? dto.getEmail() : null;
+        if (!contactFilter.mightBeTaken(email, dto.getPhone())) {
+            return;
+        }
+        for (PatientRepository.ContactKeys taken :
+                patientRepository.findActiveContactConflicts(email, dto.getPhone(), excludeId)) {
+            if (email != null && email.equals(taken.getEmail())) {
+                throw new IllegalArgumentException("Patient with email " + email + " already exists");
+            }
+            if (dto.getPhone().equals(taken.getPhone())) {
+                throw new IllegalArgumentException("Patient with phone " + dto.getPhone() + " already exists");
+            }
+        }
+    }
+    
+    // Flushes so a conflict the check did not see surfaces here as the same client error
+    private Patient saveUnique(Patient patient) {
+        Patient saved;
+        try {
+            saved = patientRepository.saveAndFlush(patient);
+        } catch (DataIntegrityViolationException e) {
+            String detail = String.valueOf(e.getMostSpecificCause().getMessage());
+            if (detail.contains("ux_patients_active_email")) {
+                throw new IllegalArgumentException("Patient with email " + patient.getEmail() + " already exists");
+            }
+            if (detail.contains("ux_patients_active_phone")) {
+                throw new IllegalArgumentException("Patient with phone " + patient.getPhone() + " already exists");
+            }
+            throw e;
+        }
+        contactFilter.add(saved.getEmail(), saved.getPhone());
+        typeaheadIndex.indexAfterCommit(saved);
+        return saved;
+    }
+    
+    // Shared with PatientImportService
+    static void mapDtoToEntity(PatientRequestDto dto, Patient patient) {
         patient.setFirstName(dto.getFirstName());
         patient.setLastName(dto.getLastName());
         patient.setEmail(dto.getEmail());
@@ -130,7 +249,22 @@ public class PatientService {
         patient.setAddress(dto.getAddress());
         patient.setBloodGroup(dto.getBloodGroup());
         patient.setEmergencyContact(dto.getEmergencyContact());
-        patient.setMedicalHistory(dto.getMedicalHistory());
-        patient.setAllergies(dto.getAllergies());
+    }
+    
+    // Only fields present in the request are written, so a PUT without them keeps the stored text
+    // (send "" to clear one). Patients without any clinical text get no row
+    private void saveClinicalRecord(Long patientId, PatientRequestDto dto) {
+        if (dto.getMedicalHistory() == null && dto.getAllergies() == null) {
+            return;
+        }
+        PatientClinicalRecord record = clinicalRecordRepository.findById(patientId)
+                .orElseGet(() -> new PatientClinicalRecord(patientId));
+        if (dto.getMedicalHistory() != null) {
+            record.setMedicalHistory(dto.getMedicalHistory());
+        }
+        if (dto.getAllergies() != null) {
+            record.setAllergies(dto.getAllergies());
+        }
+        clinicalRecordRepository.save(record);
     }
 }
@@ -0,0 +1,135 @@
+package com.hospital.patient.service;
+
+import com.hospital.common.util.PrefixIndex;
+import com.hospital.patient.dto.PatientSummaryDto;
+import com.hospital.patient.model.Patient;
+import com.hospital.patient.repository.PatientRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Typeahead index over the first, last and full names of live patients.
+ * <p>
+ * Built at startup before the application reports ready. This instance's own writes are
+ * applied once they commit; every refresh interval, rows changed since the last sync (by any
+ * instance) are read back, which also covers writes that raced the startup build.
+ */
+@Component
+@Slf4j
+public class PatientTypeaheadIndex implements ApplicationRunner {
+    
+    // Re-read a little before the last sync so rows committed late are not missed
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+    
+    private final PatientRepository patientRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final DataSize memoryBudget;
+    private volatile PrefixIndex<PatientSummaryDto> index;
+    private volatile LocalDateTime lastSync;
+    
+    public PatientTypeaheadIndex(
+            PatientRepository patientRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${typeahead.enabled:true}") boolean enabled,
+            @Value("${typeahead.memory-budget:64MB}") DataSize memoryBudget) {
+        this.patientRepository = patientRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.memoryBudget = memoryBudget;
+        this.index = new PrefixIndex<>(memoryBudget.toBytes());
+    }
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            rebuild();
+        }
+    }
+    
+    @Scheduled(initialDelayString = "${typeahead.refresh-interval:30000}",
+               fixedDelayString = "${typeahead.refresh-interval:30000}")
+    public void refresh() {
+        if (lastSync == null) {
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime since = lastSync.minus(SYNC_OVERLAP);
+        PrefixIndex<PatientSummaryDto> current = index;
+        patientRepository.findActiveSummariesUpdatedSince(since).forEach(patient -> put(current, patient));
+        patientRepository.findIdsDeletedSince(since).forEach(current::remove);
+        lastSync = startedAt;
+    }
+    
+    /**
+     * {@code false} until the index is built, when disabled, or when the memory budget left
+     * patients out; callers then use the database search instead.
+     */
+    public boolean isServing() {
+        return lastSync != null && index.isComplete();
+    }
+    
+    public List<PatientSummaryDto> search(String prefix, int limit) {
+        return index.search(prefix, limit);
+    }
+    
+    public void indexAfterCommit(Patient patient) {
+        PatientSummaryDto summary = new PatientSummaryDto(
+                patient.getId(), patient.getFirstName(), patient.getLastName(), patient.getUpdatedAt());
+        afterCommit(() -> put(index, summary));
+    }
+    
+    public void removeAfterCommit(Long id) {
+        afterCommit(() -> index.remove(id));
+    }
+    
+    private void rebuild() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        PrefixIndex<PatientSummaryDto> fresh = new PrefixIndex<>(memoryBudget.toBytes());
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<PatientSummaryDto> patients = patientRepository.streamAllActiveSummaries()) {
+                patients.forEach(patient -> put(fresh, patient));
+            }
+        });
+        index = fresh;
+        lastSync = startedAt;
+        log.info("Indexed {} patients for typeahead using about {} KB{}", fresh.size(),
+                fresh.estimatedBytes() / 1024, fresh.isComplete() ? "" : " (memory budget reached, using database search)");
+    }
+    
+    private static void put(PrefixIndex<PatientSummaryDto> index, PatientSummaryDto patient) {
+        index.put(patient.getId(), patient, List.of(
+                patient.getFirstName(),
+                patient.getLastName(),
+                patient.getFirstName() + " " + patient.getLastName()));
+    }
+    
+    private void afterCommit(Runnable action) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
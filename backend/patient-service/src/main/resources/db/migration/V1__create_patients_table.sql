@@ -0,0 +1,19 @@
+-- Baseline matching the schema Hibernate used to generate. IF NOT EXISTS keeps it a
+-- no-op on databases created before migrations were introduced.
+CREATE TABLE IF NOT EXISTS patients (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name        VARCHAR(50)  NOT NULL,
+    last_name         VARCHAR(50)  NOT NULL,
+    email             VARCHAR(100) UNIQUE,
+    phone             VARCHAR(15)  NOT NULL,
+    date_of_birth     DATE         NOT NULL,
+    gender            VARCHAR(255) NOT NULL,
+    address           TEXT,
+    blood_group       VARCHAR(5),
+    emergency_contact VARCHAR(15),
+    medical_history   TEXT,
+    allergies         TEXT,
+    created_at        TIMESTAMP(6),
+    updated_at        TIMESTAMP(6),
+    deleted_at        TIMESTAMP(6)
+);
@@ -0,0 +1,9 @@
+-- Every finder filters on deleted_at IS NULL, so the indexes are partial on live rows.
+
+-- findAllActive, findActivePageAfter/Before, findActiveById, findAllActiveByIds
+CREATE INDEX IF NOT EXISTS ix_patients_active_id
+    ON patients (id) WHERE deleted_at IS NULL;
+
+-- findByPhone (findByEmail is served by the unique constraint on email)
+CREATE INDEX IF NOT EXISTS ix_patients_active_phone
+    ON patients (phone) WHERE deleted_at IS NULL;
@@ -0,0 +1,15 @@
+-- Trigram GIN indexes let the '%term%' predicates in searchPatients use an index
+-- instead of scanning the table. Each index matches one OR branch of the query.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS ix_patients_first_name_trgm
+    ON patients USING gin (lower(first_name) gin_trgm_ops) WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS ix_patients_last_name_trgm
+    ON patients USING gin (lower(last_name) gin_trgm_ops) WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS ix_patients_email_trgm
+    ON patients USING gin (lower(email) gin_trgm_ops) WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS ix_patients_phone_trgm
+    ON patients USING gin (phone gin_trgm_ops) WHERE deleted_at IS NULL;
@@ -0,0 +1,3 @@
+-- findRecentlyUpdated, used by the cache warm-up to pick the most recently active patients
+CREATE INDEX IF NOT EXISTS ix_patients_active_updated_at
+    ON patients (updated_at DESC, id DESC) WHERE deleted_at IS NULL;
@@ -0,0 +1,15 @@
+-- Clinical narrative moves off the hot patients row; it is only read by the patient detail view
+CREATE TABLE IF NOT EXISTS patient_clinical_records (
+    patient_id BIGINT PRIMARY KEY REFERENCES patients(id) ON DELETE CASCADE,
+    medical_history TEXT,
+    allergies TEXT,
+    updated_at TIMESTAMP
+);
+
+INSERT INTO patient_clinical_records (patient_id, medical_history, allergies, updated_at)
+SELECT id, medical_history, allergies, updated_at
+FROM patients
+WHERE medical_history IS NOT NULL OR allergies IS NOT NULL;
+
+ALTER TABLE patients DROP COLUMN IF EXISTS medical_history;
+ALTER TABLE patients DROP COLUMN IF EXISTS allergies;
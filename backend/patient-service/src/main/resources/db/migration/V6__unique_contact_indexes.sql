@@ -0,0 +1,68 @@
+-- Uniqueness applies to live patients only, as the service has always checked it, so a
+-- soft-deleted patient's email or phone can be registered again. The unique indexes let
+-- findActiveContactConflicts answer both checks from the index and reject any duplicate
+-- the service-side check misses.
+
+-- Replace the table-wide unique constraint on email, whatever name it was created under
+DO $$
+DECLARE
+    constraint_name TEXT;
+BEGIN
+    FOR constraint_name IN
+        SELECT con.conname
+        FROM pg_constraint con
+        JOIN pg_attribute att ON att.attrelid = con.conrelid AND att.attnum = ANY (con.conkey)
+        WHERE con.conrelid = 'patients'::regclass
+          AND con.contype = 'u'
+          AND cardinality(con.conkey) = 1
+          AND att.attname = 'email'
+    LOOP
+        EXECUTE format('ALTER TABLE patients DROP CONSTRAINT %I', constraint_name);
+    END LOOP;
+END $$;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_patients_active_email
+    ON patients (email) WHERE deleted_at IS NULL;
+
+-- Phones were only checked by the service, so two racing registrations could both be stored.
+-- Keep the oldest live patient per phone, soft-delete the later copies and list them here, so
+-- their appointments and invoices can be moved over (or the row restored with a new phone)
+CREATE TABLE patient_contact_migration_issues (
+    id              BIGSERIAL PRIMARY KEY,
+    patient_id      BIGINT      NOT NULL,
+    kept_patient_id BIGINT      NOT NULL,
+    phone           VARCHAR(15) NOT NULL,
+    recorded_at     TIMESTAMP   NOT NULL DEFAULT now()
+);
+
+INSERT INTO patient_contact_migration_issues (patient_id, kept_patient_id, phone)
+SELECT id, kept_id, phone
+FROM (
+    SELECT id, phone, MIN(id) OVER (PARTITION BY phone) AS kept_id
+    FROM patients
+    WHERE deleted_at IS NULL
+) live
+WHERE id <> kept_id;
+
+UPDATE patients p
+SET deleted_at = now(),
+    updated_at = now()
+FROM patient_contact_migration_issues issue
+WHERE issue.patient_id = p.id
+  AND p.deleted_at IS NULL;
+
+DO $$
+DECLARE
+    duplicates BIGINT;
+BEGIN
+    SELECT count(*) INTO duplicates FROM patient_contact_migration_issues;
+    IF duplicates > 0 THEN
+        RAISE WARNING '% patient(s) shared a phone with an older patient and were soft-deleted; see patient_contact_migration_issues', duplicates;
+    END IF;
+END $$;
+
+-- Supersedes the plain phone index from V2
+CREATE UNIQUE INDEX IF NOT EXISTS ux_patients_active_phone
+    ON patients (phone) WHERE deleted_at IS NULL;
+
+DROP INDEX IF EXISTS ix_patients_active_phone;
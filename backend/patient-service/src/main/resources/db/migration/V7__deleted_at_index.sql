@@ -0,0 +1,3 @@
+-- findIdsDeletedSince, used by the typeahead index to drop patients deleted on other instances
+CREATE INDEX IF NOT EXISTS ix_patients_deleted_at
+    ON patients (deleted_at) WHERE deleted_at IS NOT NULL;
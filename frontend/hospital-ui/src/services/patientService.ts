@@ -8,9 +8,9 @@ export const patientService = {
     return response.data.data;
   },
 
-  // Get patient by ID
+  // Get patient by ID, including medical history and allergies
   getPatientById: async (id: number): Promise<Patient> => {
-    const response = await apiClient.get<ApiResponse<Patient>>(`/patients/${id}`);
+    const response = await apiClient.get<ApiResponse<Patient>>(`/patients/${id}?includeClinical=true`);
     return response.data.data;
   },
 
@@ -0,0 +1,66 @@
+#!/bin/bash
+
+# Bulk registration benchmark: creates COUNT patients with PARALLEL concurrent requests
+# and reports throughput. Run it once as configured and once with the uniqueness pre-check
+# disabled (UNIQUENESS_BLOOM_FILTER_ENABLED=false on patient-service) to measure what
+# skipping the duplicate query saves.
+#
+# This measures end-to-end HTTP throughput only (a curl per request, request handling, the
+# insert and its transaction), not the cost of the conflict check in isolation.
+#
+# Runs against a patient-service on localhost:8081.
+
+BASE_URL="http://localhost:8081/api/v1/patients"
+COUNT="${COUNT:-2000}"
+PARALLEL="${PARALLEL:-16}"
+# Keeps emails and phones of separate runs apart
+RUN_ID="${RUN_ID:-$(printf "%04d" $((RANDOM % 10000)))}"
+
+echo "========================================="
+echo "Bulk Registration Benchmark"
+echo "========================================="
+echo ""
+
+register() {
+  local i="$1"
+  local phone
+  phone=$(printf "9%s%05d" "$RUN_ID" "$i")
+  curl -s -o /dev/null -w "%{http_code}\n" -X POST "$BASE_URL" \
+    -H "Content-Type: application/json" \
+    -d "{
+      \"firstName\": \"Bulk\",
+      \"lastName\": \"Patient$i\",
+      \"email\": \"bulk.$RUN_ID.$i@example.com\",
+      \"phone\": \"$phone\",
+      \"dateOfBirth\": \"1985-03-20\",
+      \"gender\": \"OTHER\"
+    }"
+}
+export -f register
+export BASE_URL RUN_ID
+
+# Test 1: Register patients concurrently
+echo "1. Registering $COUNT patients with $PARALLEL concurrent requests (run $RUN_ID)..."
+START_NS=$(date +%s%N)
+STATUSES=$(seq 1 "$COUNT" | xargs -P "$PARALLEL" -I{} bash -c 'register {}')
+END_NS=$(date +%s%N)
+ELAPSED_MS=$(( (END_NS - START_NS) / 1000000 ))
+CREATED=$(echo "$STATUSES" | grep -c "^201$")
+echo "Created: $CREATED of $COUNT"
+echo "Elapsed: ${ELAPSED_MS} ms"
+echo "Throughput: $(( CREATED * 1000 / (ELAPSED_MS > 0 ? ELAPSED_MS : 1) )) registrations/s"
+echo ""
+
+# Test 2: Repeated contact details must still be rejected
+echo "2. Registering the same email and phone again (should be 400)..."
+STATUS=$(register 1)
+echo "Status: $STATUS"
+if [ "$STATUS" != "400" ]; then
+  echo "FAILED: duplicate registration was not rejected"
+  exit 1
+fi
+echo ""
+
+echo "========================================="
+echo "All tests completed!"
+echo "========================================="
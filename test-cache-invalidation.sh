@@ -0,0 +1,77 @@
+#!/bin/bash
+
+# Test two-tier cache invalidation across two patient-service instances sharing one Redis.
+#
+# Start the second instance next to the first, e.g.:
+#   cd backend/patient-service && mvn spring-boot:run -Dspring-boot.run.arguments=--server.port=8091
+
+INSTANCE_A="${INSTANCE_A:-http://localhost:8081}/api/v1/patients"
+INSTANCE_B="${INSTANCE_B:-http://localhost:8091}/api/v1/patients"
+
+echo "========================================="
+echo "Testing Cache Invalidation Across Instances"
+echo "========================================="
+echo ""
+
+# Test 1: Create a patient on instance A
+echo "1. Creating a patient on instance A..."
+PATIENT_JSON='{
+  "firstName": "Cache",
+  "lastName": "Original",
+  "email": "cache.test@example.com",
+  "phone": "5550001111",
+  "dateOfBirth": "1990-01-01",
+  "gender": "MALE",
+  "address": "1 Cache Lane",
+  "bloodGroup": "O+"
+}'
+
+CREATE_RESPONSE=$(curl -s -X POST "$INSTANCE_A" \
+  -H "Content-Type: application/json" \
+  -d "$PATIENT_JSON")
+
+PATIENT_ID=$(echo "$CREATE_RESPONSE" | jq -r '.data.id')
+echo "Created patient with ID: $PATIENT_ID"
+echo ""
+
+# Test 2: Read it twice on instance B so it lands in B's local cache
+echo "2. Warming instance B's local cache..."
+curl -s -X GET "$INSTANCE_B/$PATIENT_ID" > /dev/null
+curl -s -X GET "$INSTANCE_B/$PATIENT_ID" | jq -r '.data.lastName'
+echo ""
+
+# Test 3: Update the patient on instance A
+echo "3. Updating the patient on instance A..."
+UPDATE_JSON=$(echo "$PATIENT_JSON" | jq '.lastName = "Updated"')
+curl -s -X PUT "$INSTANCE_A/$PATIENT_ID" \
+  -H "Content-Type: application/json" \
+  -d "$UPDATE_JSON" | jq -r '.data.lastName'
+echo ""
+
+# Test 4: Instance B must see the update (its local copy was evicted over pub/sub)
+echo "4. Reading the patient on instance B (should be 'Updated')..."
+LAST_NAME=$(curl -s -X GET "$INSTANCE_B/$PATIENT_ID" | jq -r '.data.lastName')
+echo "$LAST_NAME"
+if [ "$LAST_NAME" != "Updated" ]; then
+  echo "FAILED: instance B served a stale local cache entry"
+  exit 1
+fi
+echo ""
+
+# Test 5: Delete on instance A, instance B must return 404
+echo "5. Deleting the patient on instance A..."
+curl -s -X DELETE "$INSTANCE_A/$PATIENT_ID" | jq '.'
+echo ""
+
+echo "6. Reading the deleted patient on instance B (should return 404)..."
+STATUS=$(curl -s -o /dev/null -w "%{http_code}" "$INSTANCE_B/$PATIENT_ID")
+echo "HTTP $STATUS"
+if [ "$STATUS" != "404" ]; then
+  echo "FAILED: instance B still serves the deleted patient"
+  exit 1
+fi
+echo ""
+
+echo "========================================="
+echo "All tests completed!"
+echo "========================================="
@@ -0,0 +1,65 @@
+#!/bin/bash
+
+# Burst test: after a patient's cache entry is dropped, concurrent reads on one instance
+# must load it from the database only once.
+#
+# Runs against the docker-compose stack (containers redis-cache and patient-service).
+
+BASE_URL="http://localhost:8081/api/v1/patients"
+CONCURRENCY="${CONCURRENCY:-100}"
+
+echo "========================================="
+echo "Testing Cache Stampede Protection"
+echo "========================================="
+echo ""
+
+# Test 1: Create a patient to read
+echo "1. Creating a patient..."
+PATIENT_JSON='{
+  "firstName": "Stampede",
+  "lastName": "Test",
+  "email": "stampede.test@example.com",
+  "phone": "5550002222",
+  "dateOfBirth": "1990-01-01",
+  "gender": "FEMALE",
+  "address": "2 Burst Road",
+  "bloodGroup": "A+"
+}'
+
+PATIENT_ID=$(curl -s -X POST "$BASE_URL" \
+  -H "Content-Type: application/json" \
+  -d "$PATIENT_JSON" | jq -r '.data.id')
+echo "Created patient with ID: $PATIENT_ID"
+echo ""
+
+# Test 2: Drop the Redis entry and restart the service so its local cache is empty too
+echo "2. Dropping cached entry and restarting patient-service..."
+docker exec redis-cache redis-cli DEL "patients::$PATIENT_ID" > /dev/null
+docker restart patient-service > /dev/null
+until [ "$(curl -s -o /dev/null -w "%{http_code}" "$BASE_URL")" = "200" ]; do
+  sleep 1
+done
+echo ""
+
+# Test 3: Fire concurrent reads of the same patient
+echo "3. Sending $CONCURRENCY concurrent reads..."
+START=$(date -u +%Y-%m-%dT%H:%M:%SZ)
+for i in $(seq 1 "$CONCURRENCY"); do
+  curl -s -o /dev/null "$BASE_URL/$PATIENT_ID" &
+done
+wait
+echo ""
+
+# Test 4: Count database loads logged by PatientService.getPatientById
+echo "4. Counting database loads (should be 1)..."
+LOADS=$(docker logs --since "$START" patient-service 2>&1 | grep -c "Fetching patient with ID: $PATIENT_ID$")
+echo "Database loads: $LOADS"
+if [ "$LOADS" != "1" ]; then
+  echo "FAILED: expected exactly one load for patient $PATIENT_ID"
+  exit 1
+fi
+echo ""
+
+echo "========================================="
+echo "All tests completed!"
+echo "========================================="
@@ -0,0 +1,106 @@
+#!/bin/bash
+
+# Concurrent booking stress test: sends COUNT booking requests for the same doctor and slot
+# with PARALLEL concurrent clients. Exactly one must be created (201) and every other one
+# rejected as a conflict (409), and the database must hold a single active appointment.
+#
+# Runs against patient, doctor and appointment services on localhost:8081-8083, with the
+# appointment database in the postgres-appointment container from docker-compose.yml.
+
+BASE_URL="http://localhost:8083/api/v1/appointments"
+PATIENT_URL="http://localhost:8081/api/v1/patients"
+DOCTOR_URL="http://localhost:8082/api/v1/doctors"
+DB_CONTAINER="${DB_CONTAINER:-postgres-appointment}"
+COUNT="${COUNT:-50}"
+PARALLEL="${PARALLEL:-50}"
+# Separate runs use separate doctors, so the slot is always free at the start
+TIMESTAMP=$(date +%s)
+SLOT_DATE="${SLOT_DATE:-$(date -d '+30 days' +%Y-%m-%d 2>/dev/null || date -v+30d +%Y-%m-%d)}"
+SLOT_TIME="10:00"
+
+echo "========================================="
+echo "Concurrent Booking Stress Test"
+echo "========================================="
+echo ""
+
+# Setup: one patient and one doctor available every day
+echo "1. Creating a test patient and doctor..."
+PATIENT_RESPONSE=$(curl -s -X POST "$PATIENT_URL" \
+  -H "Content-Type: application/json" \
+  -d "{
+    \"firstName\": \"Race\",
+    \"lastName\": \"Patient\",
+    \"email\": \"race.patient.${TIMESTAMP}@example.com\",
+    \"phone\": \"955${TIMESTAMP: -7}\",
+    \"dateOfBirth\": \"1990-01-15\",
+    \"gender\": \"OTHER\"
+  }")
+PATIENT_ID=$(echo $PATIENT_RESPONSE | grep -o '"data":{"id":[0-9]*' | grep -o '[0-9]*')
+
+DOCTOR_RESPONSE=$(curl -s -X POST "$DOCTOR_URL" \
+  -H "Content-Type: application/json" \
+  -d "{
+    \"firstName\": \"Race\",
+    \"lastName\": \"Doctor\",
+    \"email\": \"race.doctor.${TIMESTAMP}@example.com\",
+    \"phone\": \"966${TIMESTAMP: -7}\",
+    \"licenseNumber\": \"LIC-RACE-${TIMESTAMP}\",
+    \"specialization\": \"General Medicine\",
+    \"qualification\": \"MBBS\",
+    \"experienceYears\": 5,
+    \"consultationFee\": 500.00,
+    \"availableDays\": [\"MONDAY\", \"TUESDAY\", \"WEDNESDAY\", \"THURSDAY\", \"FRIDAY\", \"SATURDAY\", \"SUNDAY\"],
+    \"startTime\": \"09:00\",
+    \"endTime\": \"17:00\",
+    \"isAvailable\": true
+  }")
+DOCTOR_ID=$(echo $DOCTOR_RESPONSE | grep -o '"data":{"id":[0-9]*' | grep -o '[0-9]*')
+
+if [ -z "$PATIENT_ID" ] || [ -z "$DOCTOR_ID" ]; then
+  echo "FAILED: could not create test data"
+  echo "Patient: $PATIENT_RESPONSE"
+  echo "Doctor: $DOCTOR_RESPONSE"
+  exit 1
+fi
+echo "Patient $PATIENT_ID, doctor $DOCTOR_ID, slot $SLOT_DATE $SLOT_TIME"
+echo ""
+
+book() {
+  curl -s -o /dev/null -w "%{http_code}\n" -X POST "$BASE_URL" \
+    -H "Content-Type: application/json" \
+    -d "{\"patientId\":$PATIENT_ID,\"doctorId\":$DOCTOR_ID,\"appointmentDate\":\"$SLOT_DATE\",\"appointmentTime\":\"$SLOT_TIME\",\"reason\":\"Concurrent booking $1\"}"
+}
+export -f book
+export BASE_URL PATIENT_ID DOCTOR_ID SLOT_DATE SLOT_TIME
+
+# Test 2: Book the same slot concurrently
+echo "2. Booking the same slot $COUNT times with $PARALLEL concurrent requests..."
+STATUSES=$(seq 1 "$COUNT" | xargs -P "$PARALLEL" -I{} bash -c 'book {}')
+CREATED=$(echo "$STATUSES" | grep -c "^201$")
+CONFLICTS=$(echo "$STATUSES" | grep -c "^409$")
+echo "Created: $CREATED, conflicts: $CONFLICTS, other: $(( COUNT - CREATED - CONFLICTS ))"
+if [ "$CREATED" != "1" ] || [ "$CONFLICTS" != "$(( COUNT - 1 ))" ]; then
+  echo "FAILED: expected exactly one 201 and $(( COUNT - 1 )) 409 responses"
+  echo "$STATUSES" | sort | uniq -c
+  exit 1
+fi
+echo ""
+
+# Test 3: The database holds exactly one active appointment for the slot
+echo "3. Counting active appointments for the slot in the database..."
+ACTIVE=$(docker exec "$DB_CONTAINER" psql -U postgres -d appointment_db -tA -c \
+  "SELECT COUNT(*) FROM appointments
+   WHERE doctor_id = $DOCTOR_ID
+     AND appointment_date = DATE '$SLOT_DATE'
+     AND appointment_time = TIME '$SLOT_TIME'
+     AND status NOT IN ('CANCELLED', 'NO_SHOW')")
+echo "Active appointments: $ACTIVE"
+if [ "$ACTIVE" != "1" ]; then
+  echo "FAILED: expected exactly one active appointment"
+  exit 1
+fi
+echo ""
+
+echo "========================================="
+echo "All tests completed!"
+echo "========================================="
@@ -0,0 +1,103 @@
+#!/bin/bash
+
+# Doctor cache hit-rate benchmark: replays COUNT GET /doctors/{id} requests spread over
+# DOCTORS doctors and compares them with the lookups the doctors table actually served,
+# read from PostgreSQL's per-table scan counters. Requests that caused no lookup were
+# answered by the in-process or Redis cache; Redis hits and misses are reported too.
+#
+# Runs against a doctor-service on localhost:8082, with the postgres-doctor and
+# redis-cache containers from docker-compose.yml. The scan count also includes the
+# service's own periodic queries (typeahead sync, cache warm-up checks), so it is an
+# upper bound on the lookups the replay caused.
+
+BASE_URL="http://localhost:8082/api/v1/doctors"
+DB_CONTAINER="${DB_CONTAINER:-postgres-doctor}"
+REDIS_CONTAINER="${REDIS_CONTAINER:-redis-cache}"
+COUNT="${COUNT:-2000}"
+DOCTORS="${DOCTORS:-10}"
+PARALLEL="${PARALLEL:-8}"
+MIN_HIT_RATE="${MIN_HIT_RATE:-90}"
+TIMESTAMP=$(date +%s)
+
+echo "========================================="
+echo "Doctor Cache Hit-Rate Benchmark"
+echo "========================================="
+echo ""
+
+doctor_scans() {
+  docker exec "$DB_CONTAINER" psql -U postgres -d doctor_db -tA -c \
+    "SELECT COALESCE(seq_scan, 0) + COALESCE(idx_scan, 0) FROM pg_stat_user_tables WHERE relname = 'doctors'"
+}
+
+redis_stat() {
+  docker exec "$REDIS_CONTAINER" redis-cli INFO stats | grep "^$1:" | cut -d: -f2 | tr -d '\r'
+}
+
+# Test 1: Create the doctors to read back
+echo "1. Creating $DOCTORS doctors..."
+IDS=()
+for i in $(seq 1 "$DOCTORS"); do
+  RESPONSE=$(curl -s -X POST "$BASE_URL" \
+    -H "Content-Type: application/json" \
+    -d "{
+      \"firstName\": \"Cache\",
+      \"lastName\": \"Doctor$i\",
+      \"email\": \"cache.doctor.${TIMESTAMP}.$i@example.com\",
+      \"phone\": \"97$(printf "%08d" $(( (TIMESTAMP % 1000000) * 100 + i )))\",
+      \"licenseNumber\": \"LIC-CACHE-${TIMESTAMP}-$i\",
+      \"specialization\": \"Cardiology\",
+      \"availableDays\": [\"MONDAY\", \"WEDNESDAY\"],
+      \"startTime\": \"09:00\",
+      \"endTime\": \"17:00\",
+      \"isAvailable\": true
+    }")
+  ID=$(echo $RESPONSE | grep -o '"data":{"id":[0-9]*' | grep -o '[0-9]*')
+  if [ -z "$ID" ]; then
+    echo "FAILED: could not create doctor: $RESPONSE"
+    exit 1
+  fi
+  IDS+=("$ID")
+done
+echo "Doctor IDs: ${IDS[*]}"
+echo ""
+
+# Scan counters are flushed by PostgreSQL at most once a second
+sleep 2
+SCANS_BEFORE=$(doctor_scans)
+REDIS_HITS_BEFORE=$(redis_stat keyspace_hits)
+REDIS_MISSES_BEFORE=$(redis_stat keyspace_misses)
+
+# Test 2: Replay reads across the doctors
+echo "2. Sending $COUNT GET /doctors/{id} requests with $PARALLEL concurrent clients..."
+START_NS=$(date +%s%N)
+STATUSES=$(for i in $(seq 0 $(( COUNT - 1 ))); do echo "${IDS[$(( i % DOCTORS ))]}"; done \
+  | xargs -P "$PARALLEL" -I{} curl -s -o /dev/null -w "%{http_code}\n" "$BASE_URL/{}")
+END_NS=$(date +%s%N)
+ELAPSED_MS=$(( (END_NS - START_NS) / 1000000 ))
+OK=$(echo "$STATUSES" | grep -c "^200$")
+
+sleep 2
+SCANS=$(( $(doctor_scans) - SCANS_BEFORE ))
+REDIS_HITS=$(( $(redis_stat keyspace_hits) - REDIS_HITS_BEFORE ))
+REDIS_MISSES=$(( $(redis_stat keyspace_misses) - REDIS_MISSES_BEFORE ))
+HITS=$(( OK > SCANS ? OK - SCANS : 0 ))
+HIT_RATE=$(( OK > 0 ? HITS * 100 / OK : 0 ))
+
+echo "Successful requests: $OK of $COUNT in ${ELAPSED_MS} ms"
+echo "Doctors table lookups: $SCANS"
+echo "Cache hits: $HITS (${HIT_RATE}%)"
+echo "Redis hits: $REDIS_HITS, Redis misses: $REDIS_MISSES (the rest were served in-process)"
+echo ""
+
+if [ "$OK" != "$COUNT" ]; then
+  echo "FAILED: not every request succeeded"
+  exit 1
+fi
+if [ "$HIT_RATE" -lt "$MIN_HIT_RATE" ]; then
+  echo "FAILED: hit rate below ${MIN_HIT_RATE}%"
+  exit 1
+fi
+
+echo "========================================="
+echo "All tests completed!"
+echo "========================================="
@@ -0,0 +1,66 @@
+#!/bin/bash
+
+# Gateway token verification test: validates one JWT several times through the gateway's
+# token validation endpoint, which runs the same verification as the authentication filter,
+# so later calls are answered from the verified-token cache. A token with a tampered signature
+# must be rejected every time. Filter cost per request is measured by the JMH benchmark in
+# backend/api-gateway (JwtValidationBenchmark), not here.
+#
+# Runs against an api-gateway on localhost:8080.
+
+BASE_URL="http://localhost:8080/api/v1/auth"
+REPEAT="${REPEAT:-3}"
+
+echo "========================================="
+echo "Gateway Token Verification Test"
+echo "========================================="
+echo ""
+
+# Test 1: Log in for a token
+echo "1. Logging in as admin..."
+TOKEN=$(curl -s -X POST "$BASE_URL/login" \
+  -H "Content-Type: application/json" \
+  -d '{"username": "admin", "password": "admin123"}' | grep -o '"token":"[^"]*"' | cut -d'"' -f4)
+if [ -z "$TOKEN" ]; then
+  echo "FAILED: could not log in"
+  exit 1
+fi
+echo "Token received"
+echo ""
+
+validate() {
+  curl -s -o /dev/null -w "%{http_code}" -X POST "$BASE_URL/validate" \
+    -H "Authorization: Bearer $1"
+}
+
+# Test 2: The same token stays valid once it is cached
+echo "2. Validating the token $REPEAT times (should be 200)..."
+for attempt in $(seq 1 "$REPEAT"); do
+  STATUS=$(validate "$TOKEN")
+  echo "Status: $STATUS"
+  if [ "$STATUS" != "200" ]; then
+    echo "FAILED: valid token was rejected"
+    exit 1
+  fi
+done
+echo ""
+
+# Test 3: A tampered token must still be rejected, also after its original was cached
+echo "3. Validating a token with a tampered signature twice (should be 401)..."
+# Changes the first signature character; the last one may only carry base64 padding bits
+SIGNATURE="${TOKEN##*.}"
+FIRST=$( [ "${SIGNATURE:0:1}" = "A" ] && echo "B" || echo "A")
+TAMPERED="${TOKEN%.*}.${FIRST}${SIGNATURE:1}"
+for attempt in 1 2; do
+  STATUS=$(validate "$TAMPERED")
+  echo "Status: $STATUS"
+  if [ "$STATUS" != "401" ]; then
+    echo "FAILED: tampered token was accepted"
+    exit 1
+  fi
+done
+echo ""
+
+echo "========================================="
+echo "All tests completed!"
+echo "========================================="
@@ -0,0 +1,52 @@
+#!/bin/bash
+
+# Bulk import test: CSV and NDJSON uploads, with rows that duplicate each other, duplicate
+# an existing patient or fail validation.
+#
+# Runs against a patient-service on localhost:8081.
+
+BASE_URL="http://localhost:8081/api/v1/patients"
+RUN_ID="${RUN_ID:-$(printf "%04d" $((RANDOM % 10000)))}"
+
+echo "========================================="
+echo "Testing Patient Bulk Import"
+echo "========================================="
+echo ""
+
+# Test 1: CSV with one valid row, one in-file duplicate and one invalid row
+echo "1. Importing CSV (expect 1 imported, 1 duplicate, 1 invalid)..."
+CSV="firstName,lastName,email,phone,dateOfBirth,gender,address,medicalHistory
+Ada,Import,ada.$RUN_ID@example.com,8${RUN_ID}00001,1980-02-01,FEMALE,\"1 Main St, Springfield\",\"Asthma, mild\"
+Ada,Again,ada.$RUN_ID@example.com,8${RUN_ID}00002,1980-02-01,FEMALE,,
+No,Phone,no.phone.$RUN_ID@example.com,,1975-07-07,MALE,,"
+
+CSV_RESULT=$(curl -s -X POST "$BASE_URL/import" \
+  -H "Content-Type: text/csv" \
+  --data-binary "$CSV")
+echo "$CSV_RESULT" | jq '.'
+echo ""
+
+# Test 2: NDJSON where the first row duplicates the CSV import
+echo "2. Importing NDJSON (expect 1 imported, 1 duplicate)..."
+NDJSON="{\"firstName\":\"Ada\",\"lastName\":\"Import\",\"email\":\"ada.$RUN_ID@example.com\",\"phone\":\"8${RUN_ID}00001\",\"dateOfBirth\":\"1980-02-01\",\"gender\":\"FEMALE\"}
+{\"firstName\":\"Grace\",\"lastName\":\"Import\",\"phone\":\"8${RUN_ID}00003\",\"dateOfBirth\":\"1990-12-09\",\"gender\":\"FEMALE\",\"allergies\":\"Latex\"}"
+
+NDJSON_RESULT=$(curl -s -X POST "$BASE_URL/import" \
+  -H "Content-Type: application/x-ndjson" \
+  --data-binary "$NDJSON")
+echo "$NDJSON_RESULT" | jq '.'
+echo ""
+
+# Test 3: Check the counts
+echo "3. Checking counts..."
+ACTUAL="$(echo "$CSV_RESULT" | jq -c '[.data.imported, .data.duplicates, .data.invalid]') $(echo "$NDJSON_RESULT" | jq -c '[.data.imported, .data.duplicates, .data.invalid]')"
+echo "CSV / NDJSON [imported, duplicates, invalid]: $ACTUAL"
+if [ "$ACTUAL" != "[1,1,1] [1,1,0]" ]; then
+  echo "FAILED: unexpected import counts"
+  exit 1
+fi
+echo ""
+
+echo "========================================="
+echo "All tests completed!"
+echo "========================================="
@@ -60,11 +60,15 @@ UPDATE_JSON='{
   "allergies": "Peanuts"
 }'
 
-curl -s -X PUT "$BASE_URL/$PATIENT_ID" \
+curl -s -X PUT "$BASE_URL/$PATIENT_ID?includeClinical=true" \
   -H "Content-Type: application/json" \
   -d "$UPDATE_JSON" | jq '.'
 echo ""
 
+echo "Clinical record after update:"
+curl -s -X GET "$BASE_URL/$PATIENT_ID/clinical" | jq '.'
+echo ""
+
 # Test 5: Search patients
 echo "5. Searching for patients with 'John'..."
 curl -s -X GET "$BASE_URL/search?query=John" | jq '.'
@@ -0,0 +1,202 @@
+#!/bin/bash
+
+# Query plan test: seeds each service database with synthetic rows inside a transaction,
+# runs EXPLAIN on the SQL behind every indexed repository finder and checks the plan uses
+# the index its migration created for it. The transaction is rolled back, so no seed data
+# is left behind.
+#
+# Runs against the postgres-* containers from docker-compose.yml, after each service has
+# started once so its Flyway migrations are applied.
+
+SEED_ROWS="${SEED_ROWS:-50000}"
+
+# Colors for output
+GREEN='\033[0;32m'
+RED='\033[0;31m'
+BLUE='\033[0;34m'
+NC='\033[0m' # No Color
+
+# Test counter
+PASSED=0
+FAILED=0
+
+# Function to print test results
+print_result() {
+    if [ $1 -eq 0 ]; then
+        echo -e "${GREEN}✓ PASSED${NC}: $2"
+        ((PASSED++))
+    else
+        echo -e "${RED}✗ FAILED${NC}: $2"
+        ((FAILED++))
+    fi
+}
+
+# Runs the SQL on stdin in one psql session. Each "\echo @@ <finder> | <index regex>" line
+# starts a check; the EXPLAIN output up to the next marker must match the regex.
+check_plans() {
+    local container="$1"
+    local database="$2"
+    local output
+    output=$(docker exec -i "$container" psql -U postgres -d "$database" -v ON_ERROR_STOP=1 -qtA \
+        -v seed_rows="$SEED_ROWS" 2>&1)
+    if [ $? -ne 0 ]; then
+        print_result 1 "$database: seeding or EXPLAIN failed"
+        echo "$output"
+        return
+    fi
+
+    local finder="" expected="" plan=""
+    while IFS= read -r line; do
+        if [[ "$line" == "@@ "* ]]; then
+            [ -n "$finder" ] && report_plan "$database" "$finder" "$expected" "$plan"
+            finder="${line#@@ }"
+            expected="${finder##* | }"
+            finder="${finder% | *}"
+            plan=""
+        else
+            plan+="$line"$'\n'
+        fi
+    done <<< "$output"
+    [ -n "$finder" ] && report_plan "$database" "$finder" "$expected" "$plan"
+}
+
+report_plan() {
+    if echo "$4" | grep -Eq "$3"; then
+        print_result 0 "$1: $2 uses $3"
+    else
+        print_result 1 "$1: $2 should use $3"
+        echo "$4"
+    fi
+}
+
+echo -e "${BLUE}Starting Query Plan Tests (${SEED_ROWS} seed rows per table)${NC}\n"
+
+# Patients: half the rows soft-deleted, so partial indexes on live rows pay off
+check_plans postgres-patient patient_db <<'SQL'
+BEGIN;
+INSERT INTO patients (first_name, last_name, email, phone, date_of_birth, gender,
+                      created_at, updated_at, deleted_at)
+SELECT 'First' || (g % 5000), 'Last' || (g % 7919), 'plan.test.' || g || '@example.com',
+       (8000000000 + g)::TEXT, DATE '1980-01-01' + (g % 10000), 'OTHER',
+       now() - g * INTERVAL '1 minute', now() - g * INTERVAL '1 minute',
+       CASE WHEN g % 2 = 0 THEN now() - (g % 10000) * INTERVAL '1 hour' END
+FROM generate_series(1, :seed_rows) AS g;
+ANALYZE patients;
+
+\echo @@ findActivePageAfter | ix_patients_active_id
+EXPLAIN (COSTS OFF) SELECT * FROM patients WHERE deleted_at IS NULL AND id > 1000 ORDER BY id LIMIT 20;
+\echo @@ findActivePageBefore | ix_patients_active_id
+EXPLAIN (COSTS OFF) SELECT * FROM patients WHERE deleted_at IS NULL AND id < 1000 ORDER BY id DESC LIMIT 20;
+\echo @@ findRecentlyUpdated | ix_patients_active_updated_at
+EXPLAIN (COSTS OFF) SELECT * FROM patients WHERE deleted_at IS NULL ORDER BY updated_at DESC, id DESC LIMIT 50;
+\echo @@ findActiveContactConflicts | ux_patients_active_email.*ux_patients_active_phone|ux_patients_active_phone.*ux_patients_active_email
+EXPLAIN (COSTS OFF) SELECT email, phone FROM patients
+WHERE deleted_at IS NULL AND (email = 'plan.test.1@example.com' OR phone = '8000000001') AND id <> 1;
+\echo @@ findIdsDeletedSince | ix_patients_deleted_at
+EXPLAIN (COSTS OFF) SELECT id FROM patients WHERE deleted_at >= now() - INTERVAL '1 minute';
+\echo @@ searchPatients | _trgm
+EXPLAIN (COSTS OFF) SELECT * FROM patients p WHERE
+    (LOWER(p.first_name) LIKE '%' || LOWER('irst4999') || '%' OR
+     LOWER(p.last_name) LIKE '%' || LOWER('irst4999') || '%' OR
+     LOWER(p.email) LIKE '%' || LOWER('irst4999') || '%' OR
+     p.phone LIKE '%' || 'irst4999' || '%') AND p.deleted_at IS NULL;
+ROLLBACK;
+SQL
+
+# Doctors: few available, so the available-doctors index is selective
+check_plans postgres-doctor doctor_db <<'SQL'
+BEGIN;
+INSERT INTO doctors (first_name, last_name, email, phone, license_number, specialization,
+                     department, is_available, available_days_mask, created_at, updated_at, deleted_at)
+SELECT 'First' || (g % 5000), 'Last' || (g % 7919), 'plan.test.' || g || '@example.com',
+       (8000000000 + g)::TEXT, 'PLAN-TEST-' || g, 'Specialization' || (g % 200),
+       'Department' || (g % 300), g % 20 = 0, 31,
+       now() - g * INTERVAL '1 minute', now() - g * INTERVAL '1 minute',
+       CASE WHEN g % 2 = 0 THEN now() - (g % 10000) * INTERVAL '1 hour' END
+FROM generate_series(1, :seed_rows) AS g;
+ANALYZE doctors;
+
+\echo @@ findActivePageAfter | ix_doctors_active_id
+EXPLAIN (COSTS OFF) SELECT * FROM doctors WHERE deleted_at IS NULL AND id > 1000 ORDER BY id LIMIT 20;
+\echo @@ findBySpecialization | ix_doctors_active_specialization
+EXPLAIN (COSTS OFF) SELECT * FROM doctors WHERE specialization = 'Specialization7' AND deleted_at IS NULL;
+\echo @@ findByDepartment | ix_doctors_active_department
+EXPLAIN (COSTS OFF) SELECT * FROM doctors WHERE department = 'Department7' AND deleted_at IS NULL;
+\echo @@ findAvailableDoctors | ix_doctors_available_id
+EXPLAIN (COSTS OFF) SELECT * FROM doctors WHERE is_available = true AND deleted_at IS NULL;
+\echo @@ findActiveCredentialConflicts | ux_doctors_active_email.*ux_doctors_active_license_number|ux_doctors_active_license_number.*ux_doctors_active_email
+EXPLAIN (COSTS OFF) SELECT email, license_number FROM doctors
+WHERE deleted_at IS NULL AND (email = 'plan.test.1@example.com' OR license_number = 'PLAN-TEST-1') AND id <> 1;
+\echo @@ findActiveSummariesUpdatedSince | ix_doctors_active_updated_at
+EXPLAIN (COSTS OFF) SELECT id FROM doctors WHERE deleted_at IS NULL AND updated_at >= now() - INTERVAL '10 minutes';
+\echo @@ findIdsDeletedSince | ix_doctors_deleted_at
+EXPLAIN (COSTS OFF) SELECT id FROM doctors WHERE deleted_at >= now() - INTERVAL '1 minute';
+ROLLBACK;
+SQL
+
+# Appointments: one per doctor and day, IDs and doctors far above any real rows
+check_plans postgres-appointment appointment_db <<'SQL'
+BEGIN;
+INSERT INTO appointments (id, patient_id, doctor_id, appointment_date, appointment_time,
+                          duration_minutes, appointment_end_time, status, created_at, updated_at)
+SELECT 1000000000 + g, 1000000000 + (g % 20000), 1000000000 + (g % 500),
+       DATE '2030-01-01' + (g / 500), TIME '09:00', 30, TIME '09:30',
+       CASE WHEN g % 50 = 0 THEN 'NO_SHOW' WHEN g % 5 = 0 THEN 'CANCELLED' ELSE 'SCHEDULED' END,
+       now(), now()
+FROM generate_series(1, :seed_rows) AS g;
+ANALYZE appointments;
+
+\echo @@ findByPatientIdAndDate | ix_appointments_patient_date
+EXPLAIN (COSTS OFF) SELECT * FROM appointments WHERE patient_id = 1000000007 AND appointment_date = DATE '2030-01-05';
+\echo @@ findByDoctorIdAndDate | ix_appointments_doctor_date
+EXPLAIN (COSTS OFF) SELECT * FROM appointments WHERE doctor_id = 1000000007 AND appointment_date = DATE '2030-01-05';
+\echo @@ findOverlappingAppointments | ux_appointments_doctor_active_slot|ex_appointments_doctor_active_overlap
+EXPLAIN (COSTS OFF) SELECT * FROM appointments WHERE doctor_id = 1000000007 AND appointment_date = DATE '2030-01-05'
+    AND appointment_time < TIME '10:00' AND appointment_end_time > TIME '09:00'
+    AND status NOT IN ('CANCELLED', 'NO_SHOW');
+\echo @@ findByDateRange | ix_appointments_date_time
+EXPLAIN (COSTS OFF) SELECT * FROM appointments WHERE appointment_date >= DATE '2030-01-05' AND appointment_date <= DATE '2030-01-06';
+\echo @@ streamByDateRange | ix_appointments_date_time
+EXPLAIN (COSTS OFF) SELECT * FROM appointments WHERE appointment_date >= DATE '2030-01-05' AND appointment_date <= DATE '2030-01-06'
+    ORDER BY appointment_date, appointment_time, id;
+\echo @@ findByStatus | ix_appointments_status
+EXPLAIN (COSTS OFF) SELECT * FROM appointments WHERE status = 'NO_SHOW';
+ROLLBACK;
+SQL
+
+# Invoices: a rare status so the status index is selective
+check_plans postgres-billing billing_db <<'SQL'
+BEGIN;
+INSERT INTO invoices (patient_id, appointment_id, invoice_number, consultation_fee, total_amount,
+                      paid_amount, balance_amount, status, created_at, updated_at)
+SELECT 1000000000 + (g % 20000), 1000000000 + g, 'PLAN-TEST-' || g, 500, 500, 0, 500,
+       CASE WHEN g % 100 = 0 THEN 'REFUNDED' WHEN g % 2 = 0 THEN 'PAID' ELSE 'PENDING' END,
+       now(), now()
+FROM generate_series(1, :seed_rows) AS g;
+ANALYZE invoices;
+
+\echo @@ findByPatientId | ix_invoices_patient_status
+EXPLAIN (COSTS OFF) SELECT * FROM invoices WHERE patient_id = 1000000007;
+\echo @@ findByPatientIdAndStatus | ix_invoices_patient_status
+EXPLAIN (COSTS OFF) SELECT * FROM invoices WHERE patient_id = 1000000007 AND status = 'PENDING';
+\echo @@ findByAppointmentId | ix_invoices_appointment_id
+EXPLAIN (COSTS OFF) SELECT * FROM invoices WHERE appointment_id = 1000000007;
+\echo @@ findByStatus | ix_invoices_status
+EXPLAIN (COSTS OFF) SELECT * FROM invoices WHERE status = 'REFUNDED';
+ROLLBACK;
+SQL
+
+echo ""
+echo "=========================================="
+echo "Query Plan Test Summary"
+echo "=========================================="
+echo -e "${GREEN}Passed: $PASSED${NC}"
+echo -e "${RED}Failed: $FAILED${NC}"
+
+if [ $FAILED -eq 0 ]; then
+    echo -e "\n${GREEN}All tests passed!${NC}"
+    exit 0
+else
+    echo -e "\n${RED}Some tests failed!${NC}"
+    exit 1
+fi